@@ -0,0 +1,85 @@
+package duke.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import duke.Date;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Task;
+import duke.task.Todo;
+
+/**
+ * Generates the task lists used by the benchmarks.
+ * @author Jason
+ */
+public class BenchmarkData {
+    private static final long SEED = 2103;
+    private static final int DISTINCT_DATES = 365;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2022, 8, 8);
+    private static final LocalDate TODO_DATE = LocalDate.of(9999, 12, 31);
+    private static final String[] WORDS = {
+        "cs2100", "cs2103t", "cs2106", "ma1521", "lab", "tutorial", "lecture", "quiz", "project",
+        "read", "book", "return", "library", "submit", "report", "meeting", "team", "buy", "groceries",
+        "call", "mom", "interview", "aws", "gym", "revise", "notes", "week", "assignment", "exam", "review"
+    };
+
+    /**
+     * Generates a mix of Todos, Deadlines and Events, with some of them marked.
+     * The same count always gives the same tasks.
+     * @param count Number of tasks.
+     * @return Generated tasks.
+     */
+    public static List<Task> tasks(int count) {
+        Random random = new Random(SEED);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String description = description(random);
+            Date date = new Date(FIRST_DATE.plusDays(random.nextInt(DISTINCT_DATES)));
+            Task task;
+            switch (random.nextInt(3)) {
+            case 0:
+                task = new Todo(description, new Date(TODO_DATE));
+                break;
+            case 1:
+                task = new Deadline(description, date);
+                break;
+            default:
+                task = new Event(description, date);
+            }
+            if (random.nextInt(4) == 0) {
+                task.markAsDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Deletes a temporary directory of a benchmark with everything in it.
+     * @param directory Directory to be deleted.
+     */
+    public static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static String description(Random random) {
+        int wordCount = 2 + random.nextInt(4);
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < wordCount; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package duke.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import duke.DukeException;
+import duke.TaskList;
+import duke.utils.Parser;
+import duke.utils.Storage;
+
+/**
+ * Measures the read-only commands end to end, from parsing the input to the message shown.
+ * @author Jason
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CommandBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    protected int taskCount;
+
+    private Path directory;
+    private Storage storage;
+    private TaskList taskList;
+
+    /**
+     * Fills a task list with the generated tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws DukeException, IOException {
+        directory = Files.createTempDirectory("duke-benchmark");
+        storage = new Storage(directory.resolve("duke.txt").toString(), directory.toString());
+        taskList = new TaskList(BenchmarkData.tasks(taskCount));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public String find() throws DukeException, IOException {
+        return Parser.parseCommand("find cs2103t lab").run(taskList, storage);
+    }
+
+    @Benchmark
+    public String findAlternatives() throws DukeException, IOException {
+        return Parser.parseCommand("find exam OR quiz").run(taskList, storage);
+    }
+
+    @Benchmark
+    public String findFuzzy() throws DukeException, IOException {
+        return Parser.parseCommand("find --fuzzy lectrue notse").run(taskList, storage);
+    }
+
+    @Benchmark
+    public String sort() throws DukeException, IOException {
+        return Parser.parseCommand("sort").run(taskList, storage);
+    }
+
+    @Benchmark
+    public String list() throws DukeException, IOException {
+        return Parser.parseCommand("list").run(taskList, storage);
+    }
+
+    @Benchmark
+    public void listAll(Blackhole blackhole) throws DukeException, IOException {
+        Parser.parseCommand("list --all").stream(taskList, storage, blackhole::consume);
+    }
+}
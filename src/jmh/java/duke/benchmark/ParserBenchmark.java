@@ -0,0 +1,73 @@
+package duke.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import duke.Date;
+import duke.DukeException;
+import duke.command.Command;
+import duke.utils.Parser;
+
+/**
+ * Measures the parsing of user input and of the dates in it.
+ * @author Jason
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    protected String todoInput = "todo read book";
+    protected String deadlineInput = "deadline return book /by 2022-10-31";
+    protected String eventInput = "event interview with aws /at 2022-09-28";
+    protected String findInput = "find cs2103t lab";
+    protected String markInput = "mark 3";
+    protected String date = "2022-10-31";
+    protected String saveDate = "Oct 31 2022";
+
+    @Benchmark
+    public Command parseTodo() throws DukeException {
+        return Parser.parseCommand(todoInput);
+    }
+
+    @Benchmark
+    public Command parseDeadline() throws DukeException {
+        return Parser.parseCommand(deadlineInput);
+    }
+
+    @Benchmark
+    public Command parseEvent() throws DukeException {
+        return Parser.parseCommand(eventInput);
+    }
+
+    @Benchmark
+    public Command parseFind() throws DukeException {
+        return Parser.parseCommand(findInput);
+    }
+
+    @Benchmark
+    public Command parseMark() throws DukeException {
+        return Parser.parseCommand(markInput);
+    }
+
+    @Benchmark
+    public Date parseDate() throws DukeException {
+        return Parser.parseDate(date);
+    }
+
+    @Benchmark
+    public Date parseDateSave() throws DukeException {
+        return Parser.parseDateSave(saveDate);
+    }
+}
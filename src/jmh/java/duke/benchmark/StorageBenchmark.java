@@ -0,0 +1,81 @@
+package duke.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import duke.DukeException;
+import duke.task.Task;
+import duke.utils.Storage;
+
+/**
+ * Measures loading and saving the save file.
+ * @author Jason
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    protected int taskCount;
+
+    private Path directory;
+    private Storage storage;
+    private List<Task> tasks;
+
+    /**
+     * Writes a save file with the generated tasks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws DukeException, IOException {
+        directory = Files.createTempDirectory("duke-benchmark");
+        storage = new Storage(directory.resolve("duke.txt").toString(), directory.toString());
+        tasks = BenchmarkData.tasks(taskCount);
+        storage.saveData(tasks);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        BenchmarkData.deleteDirectory(directory);
+    }
+
+    @Benchmark
+    public List<Task> load() throws DukeException, IOException {
+        return storage.load();
+    }
+
+    /**
+     * Loads the save file and reads every task, which a lazily decoded load would otherwise put off.
+     */
+    @Benchmark
+    public void loadAll(Blackhole blackhole) throws DukeException, IOException {
+        for (Task task : storage.load()) {
+            blackhole.consume(task);
+        }
+    }
+
+    @Benchmark
+    public void saveData() throws IOException {
+        storage.saveData(tasks);
+    }
+}
@@ -0,0 +1,252 @@
+package duke;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.InputMismatchException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.Task;
+import duke.utils.Json;
+
+/**
+ * Serves the task list over HTTP on the local machine, so scripts can use AIlfred without the window.
+ * "POST /commands" runs a command given as plain text or as {"command": "..."}, and "GET /tasks" gives
+ * a page of the tasks, with recurring tasks at their next occurrence. Requests are handled on a pool of
+ * worker threads, where requests that only read the list run alongside each other, and connections are
+ * kept open between requests.
+ * @author Jason
+ */
+public class ApiServer {
+    private static final int WORKER_THREADS_PER_PROCESSOR = 4;
+    private static final int BACKLOG = 1024;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 10_000;
+    private static final int STOP_DELAY_SECONDS = 1;
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+    private static final String COMMAND_FIELD = "command";
+    private static final String PAGE_ERROR = "\uD83D\uDE14 OOPS!!! Please give the offset as a number from 0 "
+            + "and the limit as a number from 1 to " + MAX_PAGE_SIZE + "!";
+    private static final String COMMAND_ERROR = "\uD83D\uDE14 OOPS!!! Please send a command, e.g. {\"command\": "
+            + "\"todo read book\"}!";
+
+    private final Duke duke;
+    private final HttpServer server;
+    private final ExecutorService workers = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors() * WORKER_THREADS_PER_PROCESSOR, runnable -> {
+                Thread thread = new Thread(runnable, "api-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Constructs a server for the task list on the loopback address.
+     * @param duke Application whose task list is served.
+     * @param port Port to listen on, or 0 for any free port.
+     * @throws IOException Port could not be listened on.
+     */
+    public ApiServer(Duke duke, int port) throws IOException {
+        this.duke = duke;
+        // Small answers are otherwise held back by Nagle's algorithm until the client acknowledges the headers,
+        // which limits each connection to about 25 requests per second.
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext("/commands", this::handleCommand);
+        server.createContext("/tasks", this::handleTasks);
+        server.setExecutor(workers);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops accepting requests, giving those in progress a moment to finish.
+     */
+    public void stop() {
+        server.stop(STOP_DELAY_SECONDS);
+        workers.shutdown();
+        try {
+            workers.awaitTermination(STOP_DELAY_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Runs the command in the body of the request, answering with {"message": "..."},
+     * or with {"error": "..."} if the command failed.
+     * Any other failure is answered with status 500 rather than closing the connection without an answer.
+     */
+    private void handleCommand(HttpExchange exchange) throws IOException {
+        try {
+            String body = readBody(exchange);
+            if (!exchange.getRequestMethod().equals("POST")) {
+                send(exchange, 405, "{\"error\":" + Json.quote("Please use POST to run a command.") + "}");
+                return;
+            }
+            try {
+                String input = isJson(exchange) ? Json.parseObject(body).get(COMMAND_FIELD) : body.strip();
+                if (input == null || input.isBlank()) {
+                    throw new DukeException(COMMAND_ERROR);
+                }
+                send(exchange, 200, "{\"message\":" + Json.quote(duke.runCommand(input)) + "}");
+            } catch (InputMismatchException | IndexOutOfBoundsException | NumberFormatException
+                     | NullPointerException | DukeException e) {
+                send(exchange, 400, "{\"error\":" + Json.quote(String.valueOf(e.getMessage())) + "}");
+            } catch (IOException e) {
+                send(exchange, 500, "{\"error\":" + Json.quote("Something went wrong: " + e.getMessage()) + "}");
+            }
+        } catch (RuntimeException e) {
+            sendFailure(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Answers with a page of the tasks, as {"total": n, "offset": i, "tasks": [...]},
+     * taking the page from the "offset" and "limit" query parameters.
+     * Any other failure is answered with status 500.
+     */
+    private void handleTasks(HttpExchange exchange) throws IOException {
+        try {
+            readBody(exchange);
+            if (!exchange.getRequestMethod().equals("GET")) {
+                send(exchange, 405, "{\"error\":" + Json.quote("Please use GET to read the tasks.") + "}");
+                return;
+            }
+            int offset;
+            int limit;
+            try {
+                Map<String, String> query = parseQuery(exchange.getRequestURI());
+                offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+                limit = Integer.parseInt(query.getOrDefault("limit", String.valueOf(DEFAULT_PAGE_SIZE)));
+            } catch (NumberFormatException e) {
+                offset = -1;
+                limit = -1;
+            }
+            if (offset < 0 || limit < 1 || limit > MAX_PAGE_SIZE) {
+                send(exchange, 400, "{\"error\":" + Json.quote(PAGE_ERROR) + "}");
+                return;
+            }
+
+            int first = offset;
+            int count = limit;
+            send(exchange, 200, duke.query(taskList -> {
+                StringBuilder json = new StringBuilder("{\"total\":").append(taskList.size())
+                        .append(",\"offset\":").append(first).append(",\"tasks\":[");
+                int end = (int) Math.min((long) first + count, taskList.size());
+                for (int i = first; i < end; i++) {
+                    if (i > first) {
+                        json.append(',');
+                    }
+                    appendTask(json, i, taskList.get(i));
+                }
+                return json.append("]}").toString();
+            }));
+        } catch (RuntimeException e) {
+            sendFailure(exchange, e);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void appendTask(StringBuilder json, int index, Task task) {
+        json.append("{\"index\":").append(index + 1)
+                .append(",\"type\":").append(Json.quote(typeOf(task)))
+                .append(",\"done\":").append(task.isDone())
+                .append(",\"description\":").append(Json.quote(task.getDescription()));
+        if (task.hasDate()) {
+            LocalDate date = task.getNextDate(LocalDate.now()).getFormattedDate();
+            json.append(",\"date\":").append(Json.quote(date.toString()));
+        }
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence != null) {
+            json.append(",\"every\":").append(Json.quote(recurrence.toString()));
+        }
+        json.append('}');
+    }
+
+    private static String typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return "deadline";
+        }
+        if (task instanceof Event) {
+            return "event";
+        }
+        return "todo";
+    }
+
+    private static boolean isJson(HttpExchange exchange) {
+        String type = exchange.getRequestHeaders().getFirst("Content-Type");
+        return type != null && type.startsWith("application/json");
+    }
+
+    private static Map<String, String> parseQuery(URI uri) {
+        Map<String, String> query = new HashMap<>();
+        String rawQuery = uri.getQuery();
+        if (rawQuery == null) {
+            return query;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0) {
+                query.put(parameter.substring(0, equals), parameter.substring(equals + 1));
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Reads the whole body of a request, which also lets the connection be reused for the next request.
+     */
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Answers with a JSON body of a known length, so the connection can be kept open.
+     */
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Answers with status 500 for an unexpected failure, unless an answer was already started.
+     */
+    private static void sendFailure(HttpExchange exchange, RuntimeException e) throws IOException {
+        if (exchange.getResponseCode() == -1) {
+            send(exchange, 500, "{\"error\":" + Json.quote("Something went wrong: " + e) + "}");
+        }
+    }
+}
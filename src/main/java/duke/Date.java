@@ -1,22 +1,77 @@
 package duke;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import duke.utils.DateFormat;
 
 /**
  * Provides an object for easy parsing of date formats.
+ * Dates are immutable, and those obtained through {@link #ofEpochDay(long)} are shared by every task on that day,
+ * except that a day outside 1970 to 2149 is only shared until another such day takes its place in a small cache.
  * @author Jason
  */
 public class Date implements Comparable<Date> {
-    protected LocalDate date;
+    // Days from 1970 to 2149 are interned in an array. Any other day, such as the date kept for todos,
+    // goes in a slot of a smaller array picked by the day, replacing the day that was there.
+    private static final int CACHED_DAYS = 1 << 16;
+    private static final int CACHED_OTHER_DAYS = 1 << 10;
+    private static final AtomicReferenceArray<Date> CACHE = new AtomicReferenceArray<>(CACHED_DAYS);
+    private static final AtomicReferenceArray<Date> OTHER_DAYS = new AtomicReferenceArray<>(CACHED_OTHER_DAYS);
+
+    protected final LocalDate date;
+    private String text;
 
     public Date(LocalDate date) {
         this.date = date;
     }
 
+    /**
+     * Gives the shared Date for a day.
+     * @param epochDay Days since 1970-01-01.
+     * @return Date of the day.
+     */
+    public static Date ofEpochDay(long epochDay) {
+        if (epochDay < 0 || epochDay >= CACHED_DAYS) {
+            int slot = (int) (epochDay & (CACHED_OTHER_DAYS - 1));
+            Date cached = OTHER_DAYS.get(slot);
+            if (cached == null || cached.date.toEpochDay() != epochDay) {
+                cached = new Date(LocalDate.ofEpochDay(epochDay));
+                OTHER_DAYS.set(slot, cached);
+            }
+            return cached;
+        }
+
+        int slot = (int) epochDay;
+        Date cached = CACHE.get(slot);
+        if (cached == null) {
+            CACHE.compareAndSet(slot, null, new Date(LocalDate.ofEpochDay(epochDay)));
+            cached = CACHE.get(slot);
+        }
+        return cached;
+    }
+
+    /**
+     * Gives the shared Date for a day.
+     * @param date Day of the date.
+     * @return Date of the day.
+     */
+    public static Date of(LocalDate date) {
+        return ofEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * Formats the date as e.g. "Oct 31 2022", which is computed once per Date.
+     * @return Text of the date.
+     */
     @Override
     public String toString() {
-        return date.format(DateTimeFormatter.ofPattern("MMM d yyyy"));
+        String formatted = text;
+        if (formatted == null) {
+            formatted = DateFormat.format(date);
+            text = formatted;
+        }
+        return formatted;
     }
 
     public LocalDate getFormattedDate() {
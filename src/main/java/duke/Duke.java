@@ -1,13 +1,25 @@
 package duke;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import duke.command.Command;
 import duke.command.ExitCommand;
+import duke.command.SwitchCommand;
 import duke.gui.Ui;
+import duke.utils.Durability;
+import duke.utils.Metrics;
 import duke.utils.Parser;
 import duke.utils.Storage;
 
@@ -16,27 +28,65 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class Duke {
-    private static final String PATH_FILE = "src/data/duke.txt";
     private static final String PATH_DIRECTORY = "src/data";
+    private static final String PROPERTY_DURABILITY = "duke.durability";
+    private static final String PROPERTY_FLUSH_DELAY = "duke.flushDelay";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5;
+    private static final long LOAD_PROGRESS_INTERVAL_MILLIS = 100;
     private Scanner scanner;
-    private TaskList taskList;
-    private Storage storage;
-    private boolean isLoaded;
-    private boolean isExit = false;
+    private final Workspaces workspaces;
+    private volatile boolean isExit = false;
+    private final ExecutorService commandExecutor = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), runnable -> {
+                Thread thread = new Thread(runnable, "command-worker");
+                thread.setDaemon(true);
+                return thread;
+            });
 
     /**
-     * Initializes the application.
+     * Initializes the application with the default workspace, which is loaded in the background.
+     * Commands wait for it to be loaded before they run, unless they can answer from the tasks loaded so far.
      */
-    public Duke() throws DukeException, IOException {
+    public Duke() {
+        this(PATH_DIRECTORY);
+    }
+
+    /**
+     * Initializes the application with the default workspace of a directory of save files.
+     * @param directoryPath Path of the directory holding the save files.
+     */
+    Duke(String directoryPath) {
+        this.workspaces = new Workspaces(directoryPath, Duke::configureDurability);
+        workspaces.current();
+    }
+
+    /**
+     * Applies the durability settings given as system properties, e.g.
+     * {@code -Dduke.durability=sync -Dduke.flushDelay=200}, to the storage of a workspace.
+     */
+    private static void configureDurability(Storage storage) {
+        String durability = System.getProperty(PROPERTY_DURABILITY);
+        if (durability != null) {
+            storage.setDurability(Durability.valueOf(durability.toUpperCase()));
+        }
+        Long flushDelay = Long.getLong(PROPERTY_FLUSH_DELAY);
+        if (flushDelay != null) {
+            storage.setFlushDelay(flushDelay);
+        }
+    }
+
+    /**
+     * Writes any changes that have not been saved yet before the application closes.
+     */
+    public void shutdown() {
+        commandExecutor.shutdown();
         try {
-            storage = new Storage(PATH_FILE, PATH_DIRECTORY);
-            taskList = new TaskList(storage.load());
-            isLoaded = true;
-        } catch (DukeException | IOException e) {
-            storage = new Storage(PATH_FILE, PATH_DIRECTORY);
-            taskList = new TaskList(new ArrayList<>(100));
-            isLoaded = false;
+            commandExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+
+        workspaces.shutdown();
     }
 
     /**
@@ -50,7 +100,7 @@ public class Duke {
         while (scanner.hasNextLine()) {
             input = scanner.nextLine();
             Command command = Parser.parseCommand(input);
-            command.run(taskList, storage);
+            execute(command, System.out::println);
         }
         scanner.close();
     }
@@ -61,31 +111,248 @@ public class Duke {
      * @return Message to be displayed.
      */
     public String getResponse(String input) {
-        try {
-            assert(Parser.parseCommand(input) instanceof Command);
-            Command c = Parser.parseCommand(input);
-            if (c instanceof ExitCommand) {
-                isExit = true;
+        StringBuilder response = new StringBuilder();
+        respond(input, response::append);
+        return response.toString();
+    }
+
+    /**
+     * Provides the message to be displayed in chunks, running the command on a worker thread.
+     * Long messages, such as the whole task list, are given in several chunks as they are produced.
+     * @param input String to be parsed.
+     * @param callback Receives each chunk of the message to be displayed in order, on the worker thread.
+     */
+    public void getResponseAsync(String input, Consumer<String> callback) {
+        commandExecutor.execute(() -> {
+            try {
+                respond(input, callback);
+            } catch (RuntimeException e) {
+                callback.accept("Something went wrong: " + e.getMessage());
             }
+        });
+    }
 
-            String res = c.run(taskList, storage);
-            System.out.println(res);
+    /**
+     * Runs a command and gives its whole message, leaving any error to the caller.
+     * Unlike {@link #getResponse(String)}, the message is not printed to the console.
+     * @param input String to be parsed.
+     * @return Message of the command.
+     * @throws DukeException Command is not known, its syntax is wrong or it could not be run.
+     * @throws IOException Change could not be saved.
+     */
+    public String runCommand(String input) throws DukeException, IOException {
+        StringBuilder response = new StringBuilder();
+        execute(parse(input), response::append);
+        return response.toString();
+    }
 
-            return res;
+    /**
+     * Reads the task list of the current workspace, alongside commands that only read it.
+     * @param reader Reads the task list, which it must not change.
+     * @return Result of the reader.
+     */
+    public <T> T query(Function<TaskList, T> reader) {
+        while (true) {
+            Workspace workspace = workspaces.current();
+            Lock lock = workspace.getLock().readLock();
+            lock.lock();
+            try {
+                if (workspace.isClosed()) {
+                    continue;
+                }
+                return reader.apply(workspace.getTaskList());
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void respond(String input, Consumer<String> sink) {
+        try {
+            execute(parse(input), chunk -> {
+                System.out.println(chunk);
+                sink.accept(chunk);
+            });
         } catch (InputMismatchException | IndexOutOfBoundsException
                  | NumberFormatException | NullPointerException
                  | DukeException | IOException e) {
-            return e.getMessage();
+            sink.accept(e.getMessage());
         }
     }
 
+    private static Command parse(String input) throws DukeException {
+        long start = System.nanoTime();
+        Command c = Parser.parseCommand(input);
+        long elapsed = System.nanoTime() - start;
+        Metrics.get().recordParse(elapsed);
+        assert(c != null);
+        return c;
+    }
+
+    /**
+     * Runs a command against the task list of the current workspace, or of the workspace it switches to.
+     * Commands that only read the list may run alongside each other, while commands that change it
+     * run one at a time. While the save file is loading, commands that can answer from the tasks loaded
+     * so far run on those, and the rest wait for the whole list.
+     */
+    private void execute(Command c, Consumer<String> sink) throws DukeException, IOException {
+        while (true) {
+            Workspace workspace = openWorkspace(c);
+            Lock lock = c.isReadOnly() ? workspace.getLock().readLock() : workspace.getLock().writeLock();
+            lock.lock();
+            try {
+                if (workspace.isClosed()) {
+                    // Evicted while waiting for the lock, so it is loaded again.
+                    continue;
+                }
+                if (c instanceof ExitCommand) {
+                    isExit = true;
+                }
+
+                TaskList loadedTaskList = workspace.getLoadedTaskList();
+                if (loadedTaskList != null && c.isReadOnly() && c.canRunWhileLoading(loadedTaskList.size())) {
+                    c.stream(loadedTaskList, null, sink);
+                    sink.accept("\n(Still loading, so this is from the first " + loadedTaskList.size()
+                            + " tasks of the save file.)");
+                    return;
+                }
+
+                TaskList taskList = workspace.getTaskList();
+                long start = System.nanoTime();
+                try {
+                    c.stream(taskList, workspace.getStorage(), sink);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    Metrics.get().recordCommand(c.getName(), elapsed);
+                    Metrics.get().setTaskCount(taskList.size());
+                }
+                taskList.getHistory().record(c);
+                return;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Workspace openWorkspace(Command c) {
+        if (c instanceof SwitchCommand) {
+            return workspaces.switchTo(((SwitchCommand) c).getWorkspaceName());
+        }
+        return workspaces.current();
+    }
+
+    /**
+     * Runs every command in a file as a single batch, and saves the task list once at the end.
+     * The whole file is parsed before any command runs. Lines that fail are reported with their
+     * line number without stopping the rest of the batch, and lines after "bye" are not run.
+     * @param path File with one command per line.
+     * @return Number of lines that failed.
+     * @throws IOException File could not be read or the task list could not be saved.
+     */
+    public int runBatch(Path path) throws IOException {
+        List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+        Command[] commands = new Command[lines.size()];
+        Exception[] parseErrors = new Exception[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                long start = System.nanoTime();
+                commands[i] = Parser.parseCommand(line);
+                long elapsed = System.nanoTime() - start;
+                Metrics.get().recordParse(elapsed);
+            } catch (IndexOutOfBoundsException | DukeException e) {
+                parseErrors[i] = e;
+            }
+        }
+
+        int count = 0;
+        int failures = 0;
+        int next = 0;
+        while (next < commands.length) {
+            // Each run of commands between "switch" commands is saved as one batch of its workspace.
+            int first = next;
+            Workspace workspace = openBatchWorkspace(commands[first]);
+            Lock lock = workspace.getLock().writeLock();
+            lock.lock();
+            workspace.getStorage().beginBatch();
+            try {
+                for (int i = next; i < commands.length; i++, next++) {
+                    if (parseErrors[i] != null) {
+                        reportBatchError(i, parseErrors[i]);
+                        failures++;
+                        continue;
+                    } else if (commands[i] == null) {
+                        continue;
+                    } else if (commands[i] instanceof ExitCommand) {
+                        next = commands.length;
+                        break;
+                    } else if (commands[i] instanceof SwitchCommand && i > first) {
+                        break;
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        commands[i].run(workspace.getTaskList(), workspace.getStorage());
+                        count++;
+                    } catch (InputMismatchException | IndexOutOfBoundsException
+                             | NumberFormatException | NullPointerException
+                             | DukeException e) {
+                        reportBatchError(i, e);
+                        failures++;
+                    } finally {
+                        long elapsed = System.nanoTime() - start;
+                        Metrics.get().recordCommand(commands[i].getName(), elapsed);
+                    }
+                }
+            } finally {
+                workspace.getStorage().endBatch(workspace.getTaskList().snapshot());
+                Metrics.get().setTaskCount(workspace.getTaskList().size());
+                lock.unlock();
+            }
+        }
+
+        System.out.println("Ran " + count + " commands from " + path + ", " + failures + " failed.");
+        return failures;
+    }
+
+    private Workspace openBatchWorkspace(Command first) {
+        return first instanceof SwitchCommand
+                ? workspaces.switchTo(((SwitchCommand) first).getWorkspaceName())
+                : workspaces.current();
+    }
+
+    private static void reportBatchError(int line, Exception e) {
+        System.out.println("Line " + (line + 1) + ": " + e.getMessage());
+    }
+
     /**
      * Provides the greeting message for Duke
      * to return in a dialog box on initialization.
      * @return Greeting message.
      */
     public String getGreeting() {
-        return Ui.greet(isLoaded);
+        return Ui.greet(workspaces.current().isLoaded());
+    }
+
+    /**
+     * Provides the greeting message once the save file is loaded, and how much of it is loaded until then.
+     * @param callback Receives the progress of loading every so often, and then the greeting message,
+     *                 on a worker thread.
+     */
+    public void getGreetingAsync(Consumer<String> callback) {
+        commandExecutor.execute(() -> {
+            Workspace workspace = workspaces.current();
+            while (!workspace.awaitLoad(LOAD_PROGRESS_INTERVAL_MILLIS)) {
+                callback.accept(Ui.loading(workspace.getLoadProgress()));
+            }
+            try {
+                callback.accept(Ui.greet(workspace.isLoaded()));
+            } catch (RuntimeException e) {
+                callback.accept("Something went wrong: " + e.getMessage());
+            }
+        });
     }
 
     /**
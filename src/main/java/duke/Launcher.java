@@ -1,5 +1,8 @@
 package duke;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
 import javafx.application.Application;
 
 /**
@@ -7,11 +10,61 @@ import javafx.application.Application;
  * @author Jason
  */
 public class Launcher {
+    private static final String OPTION_BATCH = "--batch";
+    private static final String OPTION_SERVER = "--server";
+    private static final int DEFAULT_PORT = 8080;
+
     /**
-     * Starts the application.
+     * Starts the application, runs the commands in a file without the GUI when given "--batch [file]",
+     * or serves the task list over HTTP without the GUI when given "--server [port]".
      */
     public static void main(String[] args) {
         assert(args != null);
+        if (args.length == 2 && args[0].equals(OPTION_BATCH)) {
+            System.exit(runBatch(args[1]));
+        }
+        if (args.length >= 1 && args.length <= 2 && args[0].equals(OPTION_SERVER)) {
+            runServer(args.length == 2 ? args[1] : String.valueOf(DEFAULT_PORT));
+            return;
+        }
         Application.launch(Main.class, args);
     }
+
+    /**
+     * Serves the task list over HTTP until the application is stopped, saving any changes on the way out.
+     * @param port Port to listen on.
+     */
+    private static void runServer(String port) {
+        Duke duke = new Duke();
+        try {
+            ApiServer server = new ApiServer(duke, Integer.parseInt(port));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                duke.shutdown();
+            }));
+            server.start();
+            System.out.println("Serving the task list at http://localhost:" + server.getPort() + "/");
+        } catch (NumberFormatException | IOException e) {
+            System.out.println("Something went wrong while starting the server: " + e.getMessage());
+            duke.shutdown();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs the commands in a file as a single batch.
+     * @param path File with one command per line.
+     * @return Exit status of the application, which is 1 if any command failed.
+     */
+    private static int runBatch(String path) {
+        try {
+            Duke duke = new Duke();
+            int failures = duke.runBatch(Path.of(path));
+            duke.shutdown();
+            return failures == 0 ? 0 : 1;
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            return 1;
+        }
+    }
 }
@@ -18,9 +18,6 @@ public class Main extends Application {
     private final Duke duke = new Duke();
     private MainWindow mainWindow;
 
-    public Main() throws DukeException, IOException {
-    }
-
     /**
      * Method to set the JavaFX stages.
      * @param stage the primary stage for this application, onto which the application scene can be set.
@@ -46,4 +43,12 @@ public class Main extends Application {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Saves any pending changes when the application is closed, including through the window.
+     */
+    @Override
+    public void stop() {
+        duke.shutdown();
+    }
 }
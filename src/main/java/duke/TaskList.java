@@ -1,20 +1,52 @@
 package duke;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 
+import duke.command.History;
 import duke.task.Task;
+import duke.utils.DateIndex;
+import duke.utils.KeywordIndex;
+import duke.utils.Occurrence;
 import duke.utils.Storage;
+import duke.utils.TaskLists;
+import duke.utils.TrigramIndex;
 
 /**
  * Stores and manages all the tasks.
+ * Changes to the list are made one at a time under a stamped lock, while single tasks are read
+ * optimistically without locking, and {@link #snapshot()} gives a consistent view of every task.
+ * Queries give the indexes of the tasks they find, and the lock is released once they are found. The tasks
+ * are then read at those indexes one at a time, so a caller that reads them must itself keep the list
+ * from changing in between, as commands do by holding the lock of their {@link Workspace}.
  * @author Jason
  */
 public class TaskList {
-    private List<Task> taskList;
+    private static final int HISTORY_CAPACITY = 100;
+    private final StampedLock lock = new StampedLock();
+    private final List<Task> taskList;
+    private int[] ids;
+    private int[] positions;
+    private int nextId;
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private DateIndex dateIndex;
+    private final History history = new History(HISTORY_CAPACITY);
 
+    /**
+     * Constructs a TaskList over the given tasks.
+     * Tasks are indexed lazily, so the list may be backed by a store that decodes tasks on demand.
+     * @param taskList Tasks to be managed.
+     */
     public TaskList(List<Task> taskList) {
         this.taskList = taskList;
+        resetIds();
     }
 
     /**
@@ -23,25 +55,486 @@ public class TaskList {
      * @return String message of task being added.
      */
     public String addTask(Task task, Storage storage) throws IOException {
-        taskList.add(task);
-        int numOfTasks = taskList.size();
+        long stamp = lock.writeLock();
+        try {
+            taskList.add(task);
+            int numOfTasks = taskList.size();
+            indexTask(assignId(numOfTasks - 1), task);
 
-        String message = "Got it. I've added this task: \n  "
-                + task + "\n"
-                + "Now you have " + numOfTasks + " tasks in the list.";
+            String message = "Got it. I've added this task: \n  "
+                    + task + "\n"
+                    + "Now you have " + numOfTasks + " tasks in the list.";
 
-        //Update save file after each task is added
-        storage.saveData(this.taskList);
+            //Record the new task in the save journal
+            storage.saveAdd(task);
 
-        return message;
+            return message;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts a task back into the list at an index, moving the tasks from that index down by one.
+     * @param index Index the task is inserted at.
+     * @param task Task to be inserted.
+     * @param storage Storage to record the insertion in.
+     */
+    public void insertTask(int index, Task task, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            taskList.add(index, task);
+            int size = taskList.size();
+            if (size > ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - 1 - index);
+            for (int i = index + 1; i < size; i++) {
+                positions[ids[i]] = i;
+            }
+            indexTask(assignId(index), task);
+            storage.saveInsert(index, task);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts tasks back into the list at many indexes in a single pass over the list, recorded as one change.
+     * @param indexes Distinct indexes the tasks are inserted at, in ascending order, as they are once inserted.
+     * @param tasks Tasks to be inserted, in the same order.
+     * @param storage Storage to record the insertion in.
+     */
+    public void insertTasks(int[] indexes, List<Task> tasks, Storage storage) throws IOException {
+        if (indexes.length == 1) {
+            insertTask(indexes[0], tasks.get(0), storage);
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            TaskLists.insertAll(this.taskList, indexes, tasks);
+            int size = this.taskList.size();
+            if (size > ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(ids.length * 2, size));
+            }
+            int next = indexes.length - 1;
+            int from = size - indexes.length - 1;
+            for (int i = size - 1; next >= 0; i--) {
+                if (indexes[next] == i) {
+                    indexTask(assignId(i), tasks.get(next--));
+                } else {
+                    ids[i] = ids[from--];
+                    positions[ids[i]] = i;
+                }
+            }
+            storage.saveInsertAll(indexes, tasks);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
     }
 
     /**
      * Removes the task at index input.
      * @param input Index of task to be removed.
+     * @param storage Storage to record the removal in.
+     */
+    public void deleteTask(int input, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            removeTask(input);
+            storage.saveDelete(input);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the tasks at many indexes in a single pass over the list, recorded as one change.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     * @param storage Storage to record the removal in.
+     * @return Tasks that were removed, in list order.
+     */
+    public List<Task> deleteTasks(int[] indexes, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            if (indexes.length == 1) {
+                Task task = removeTask(indexes[0]);
+                storage.saveDelete(indexes[0]);
+                return List.of(task);
+            }
+
+            List<Task> removed = new ArrayList<>(indexes.length);
+            int size = this.taskList.size();
+            int kept = 0;
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                int id = ids[i];
+                if (next < indexes.length && indexes[next] == i) {
+                    Task task = this.taskList.get(i);
+                    removed.add(task);
+                    unindexTask(id, task);
+                    next++;
+                } else {
+                    ids[kept] = id;
+                    positions[id] = kept++;
+                }
+            }
+            TaskLists.removeAll(this.taskList, indexes);
+            storage.saveDeleteAll(indexes);
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Task removeTask(int index) {
+        Task task = this.taskList.remove(index);
+        unindexTask(ids[index], task);
+        for (int i = index; i < this.taskList.size(); i++) {
+            ids[i] = ids[i + 1];
+            positions[ids[i]] = i;
+        }
+        return task;
+    }
+
+    /**
+     * Updates the "marked" status of the task at index i.
+     * @param i Index of task to update.
+     * @param isDone New status of the task.
+     * @param storage Storage to record the update in.
+     * @return Task that was updated.
+     */
+    public Task markTask(int i, boolean isDone, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            Task task = this.taskList.get(i);
+            if (isDone) {
+                task.markAsDone();
+            } else {
+                task.markAsUndone();
+            }
+            //Write the task back as the list may only hold a decoded copy of it
+            this.taskList.set(i, task);
+            if (dateIndex != null) {
+                dateIndex.setDone(ids[i], epochDayOf(task), isDone);
+            }
+            storage.saveMark(i, isDone);
+            return task;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Updates the "marked" status of the tasks at many indexes, recorded as one change.
+     * Tasks that already have the new status are left as they are.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     * @param isDone New status of the tasks.
+     * @param storage Storage to record the update in.
+     * @return Indexes of the tasks whose status changed, in ascending order.
+     */
+    public int[] markTasks(int[] indexes, boolean isDone, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            int[] changed = new int[indexes.length];
+            int count = 0;
+            for (int i : indexes) {
+                Task task = this.taskList.get(i);
+                if (task.isDone() == isDone) {
+                    continue;
+                }
+                if (isDone) {
+                    task.markAsDone();
+                } else {
+                    task.markAsUndone();
+                }
+                this.taskList.set(i, task);
+                if (dateIndex != null) {
+                    dateIndex.setDone(ids[i], epochDayOf(task), isDone);
+                }
+                changed[count++] = i;
+            }
+            changed = Arrays.copyOf(changed, count);
+            storage.saveMarkAll(changed, isDone);
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks the occurrences of the tasks at many indexes on or after a day as done, recorded as one change.
+     * Tasks that happen once and are already done are left as they are, while recurring tasks move on to
+     * their next occurrence, so the rest of the series stays to be done.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     * @param from Earliest day of the occurrences that are done.
+     * @param storage Storage to record the update in.
+     * @return Indexes of the tasks that changed, in ascending order.
+     */
+    public int[] completeTasks(int[] indexes, LocalDate from, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            int[] changed = new int[indexes.length];
+            List<Task> tasks = new ArrayList<>(indexes.length);
+            boolean isRecurring = false;
+            for (int i : indexes) {
+                Task task = this.taskList.get(i);
+                if (task.getRecurrence() == null && task.isDone()) {
+                    continue;
+                }
+                isRecurring |= task.getRecurrence() != null;
+                Task completed = task.completedFrom(from);
+                replaceTask(i, task, completed);
+                changed[tasks.size()] = i;
+                tasks.add(completed);
+            }
+            changed = Arrays.copyOf(changed, tasks.size());
+            if (isRecurring) {
+                storage.saveSetAll(changed, tasks);
+            } else {
+                storage.saveMarkAll(changed, true);
+            }
+            return changed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Replaces the tasks at many indexes with others, recorded as one change.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     * @param tasks Tasks to put in their place, in the same order.
+     * @param storage Storage to record the update in.
+     * @return Tasks that were replaced, in the same order.
+     */
+    public List<Task> replaceTasks(int[] indexes, List<Task> tasks, Storage storage) throws IOException {
+        long stamp = lock.writeLock();
+        try {
+            List<Task> replaced = new ArrayList<>(indexes.length);
+            for (int i = 0; i < indexes.length; i++) {
+                Task task = this.taskList.get(indexes[i]);
+                replaceTask(indexes[i], task, tasks.get(i));
+                replaced.add(task);
+            }
+            storage.saveSetAll(indexes, tasks);
+            return replaced;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Puts a task in place of another at an index under a new id, as ids are never indexed twice.
+     */
+    private void replaceTask(int index, Task previous, Task task) {
+        this.taskList.set(index, task);
+        unindexTask(ids[index], previous);
+        indexTask(assignId(index), task);
+    }
+
+    /**
+     * Finds the tasks that are done.
+     * @return Indexes of the tasks done, in ascending order, valid until the list next changes.
+     */
+    public int[] findDone() {
+        return read(() -> {
+            int size = this.taskList.size();
+            int[] indexes = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (this.taskList.get(i).isDone()) {
+                    indexes[count++] = i;
+                }
+            }
+            return Arrays.copyOf(indexes, count);
+        });
+    }
+
+    /**
+     * Finds the tasks matching a query through the keyword index.
+     * The index is built on the first search.
+     * @param query Keywords to search for, see {@link KeywordIndex#search(String)}.
+     * @return Indexes of the matching tasks, in list order, valid until the list next changes.
+     */
+    public List<Integer> find(String query) {
+        return read(() -> {
+            List<Integer> indexes = toPositions(getKeywordIndex().search(query));
+            indexes.sort(null);
+            return indexes;
+        });
+    }
+
+    /**
+     * Finds the tasks with descriptions most similar to a query that may be misspelt, through the trigram index.
+     * The index is built on the first fuzzy search.
+     * @param query Words to search for, see {@link TrigramIndex#search(String, int)}.
+     * @param limit Maximum number of tasks to find.
+     * @return Indexes of the matching tasks, from the most to the least similar, valid until the list
+     *         next changes.
      */
-    public void deleteTask(int input) {
-        this.taskList.remove(input);
+    public List<Integer> findFuzzy(String query, int limit) {
+        return read(() -> toPositions(getTrigramIndex().search(query, limit)));
+    }
+
+    /**
+     * Orders the tasks by date through the date index, without reordering the list.
+     * Tasks without a date come last, and recurring tasks are placed at their next occurrence from today.
+     * @return Indexes of all tasks, in date order, valid until the list next changes.
+     */
+    public List<Integer> sortedByDate() {
+        long today = LocalDate.now().toEpochDay();
+        return read(() -> toPositions(getDateIndex().ordered(today)));
+    }
+
+    /**
+     * Finds the tasks not done yet that are due on or before a date,
+     * taking recurring tasks at every occurrence from today up to it.
+     * @param date Latest date to include.
+     * @return Indexes of the tasks with the day of each occurrence, in date order, valid until the list
+     *         next changes.
+     */
+    public List<Occurrence> dueBy(LocalDate date) {
+        long today = LocalDate.now().toEpochDay();
+        return read(() -> toOccurrences(getDateIndex().pendingUntil(date.toEpochDay(), today)));
+    }
+
+    /**
+     * Finds the next occurrences of tasks not done yet that are due on or after a date,
+     * where a recurring task may occur several times.
+     * @param date Earliest date to include.
+     * @param limit Maximum number of occurrences to find.
+     * @return Indexes of the tasks with the day of each occurrence, in date order, valid until the list
+     *         next changes.
+     */
+    public List<Occurrence> upcoming(LocalDate date, int limit) {
+        return read(() -> toOccurrences(getDateIndex().pendingFrom(date.toEpochDay(), limit)));
+    }
+
+    /**
+     * Provides the keyword index, building it on first use.
+     * Building is synchronized as the list may be read by many threads at once.
+     */
+    private synchronized KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            keywordIndex = new KeywordIndex();
+            for (int i = 0; i < this.taskList.size(); i++) {
+                keywordIndex.add(ids[i], this.taskList.get(i).getDescription());
+            }
+        }
+        return keywordIndex;
+    }
+
+    /**
+     * Provides the trigram index, building it on first use.
+     */
+    private synchronized TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            trigramIndex = new TrigramIndex();
+            for (int i = 0; i < this.taskList.size(); i++) {
+                trigramIndex.add(ids[i], this.taskList.get(i).getDescription());
+            }
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Provides the date index, building it on first use.
+     */
+    private synchronized DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex();
+            for (int i = 0; i < this.taskList.size(); i++) {
+                Task task = this.taskList.get(i);
+                dateIndex.add(ids[i], epochDayOf(task), task.getRecurrence(), task.isDone());
+            }
+        }
+        return dateIndex;
+    }
+
+    private void indexTask(int id, Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.add(id, task.getDescription());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.add(id, task.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.add(id, epochDayOf(task), task.getRecurrence(), task.isDone());
+        }
+    }
+
+    private void unindexTask(int id, Task task) {
+        if (keywordIndex != null) {
+            keywordIndex.remove(id, task.getDescription());
+        }
+        if (trigramIndex != null) {
+            trigramIndex.remove(id);
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(id, epochDayOf(task));
+        }
+        positions[id] = -1;
+    }
+
+    private static long epochDayOf(Task task) {
+        return task.hasDate() ? task.getDate().getFormattedDate().toEpochDay() : DateIndex.UNDATED;
+    }
+
+    private List<Integer> toPositions(Collection<Integer> taskIds) {
+        List<Integer> indexes = new ArrayList<>(taskIds.size());
+        for (int id : taskIds) {
+            indexes.add(positions[id]);
+        }
+        return indexes;
+    }
+
+    private List<Occurrence> toOccurrences(List<Occurrence> taskIds) {
+        List<Occurrence> occurrences = new ArrayList<>(taskIds.size());
+        for (Occurrence occurrence : taskIds) {
+            occurrences.add(new Occurrence(positions[occurrence.getIndex()], occurrence.getDate()));
+        }
+        return occurrences;
+    }
+
+    /**
+     * Gives every task an id equal to its current index and drops the indexes built on the old ids.
+     */
+    private void resetIds() {
+        int size = this.taskList.size();
+        ids = new int[Math.max(size, 16)];
+        positions = new int[ids.length];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i;
+            positions[i] = i;
+        }
+        nextId = size;
+        keywordIndex = null;
+        trigramIndex = null;
+        dateIndex = null;
+    }
+
+    private int assignId(int index) {
+        if (index >= ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        if (nextId >= positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+        }
+        ids[index] = nextId;
+        positions[nextId] = index;
+        return nextId++;
+    }
+
+    /**
+     * Runs a query that reads the list while no change is being made to it.
+     */
+    private <T> T read(Supplier<T> query) {
+        long stamp = lock.readLock();
+        try {
+            return query.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
     }
 
     /**
@@ -49,23 +542,52 @@ public class TaskList {
      * @return Current size of taskList.
      */
     public int size() {
-        return this.taskList.size();
+        long stamp = lock.tryOptimisticRead();
+        int size = this.taskList.size();
+        if (lock.validate(stamp)) {
+            return size;
+        }
+        return read(this.taskList::size);
     }
 
     /**
      * Provides the current task at index i.
+     * The task is read without locking, and read again under the lock only if the list changed meanwhile.
      * @param i Index of task to get.
      * @return ask at index i.
      */
     public Task get(int i) {
-        return this.taskList.get(i);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Task task = this.taskList.get(i);
+                if (lock.validate(stamp)) {
+                    return task;
+                }
+            } catch (RuntimeException e) {
+                // A change made meanwhile may have left the list half updated, so the task is read again.
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        return read(() -> this.taskList.get(i));
+    }
+
+    /**
+     * Provides the changes to the list that can be undone and redone.
+     * @return History of the list.
+     */
+    public History getHistory() {
+        return this.history;
     }
 
     /**
-     * Provides the list of tasks.
-     * @return Current list of tasks.
+     * Provides a consistent view of the tasks, which later changes to the list do not affect.
+     * The view can be read by any thread without locking, such as while it is saved or printed.
+     * @return Unmodifiable list of the current tasks.
      */
-    public List<Task> getList() {
-        return this.taskList;
+    public List<Task> snapshot() {
+        return read(() -> TaskLists.snapshot(this.taskList));
     }
 }
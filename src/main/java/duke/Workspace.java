@@ -0,0 +1,198 @@
+package duke;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import duke.task.Task;
+import duke.utils.CompactTaskList;
+import duke.utils.Storage;
+
+/**
+ * Holds a named task list in memory together with its storage.
+ * The save file is loaded in the background, and the task list and storage are handed out once it is done.
+ * Until then, the tasks loaded so far are handed out to commands that can answer from them.
+ * Commands that only read the list may run alongside each other under its lock, while commands
+ * that change it run one at a time.
+ * @author Jason
+ */
+public class Workspace {
+    private final String name;
+    private final CompletableFuture<Void> loading = new CompletableFuture<>();
+    private volatile Storage storage;
+    private volatile TaskList taskList;
+    private volatile TaskList loadedTaskList;
+    private volatile boolean isLoaded;
+    private volatile double loadProgress;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long lastUsed = System.currentTimeMillis();
+    private volatile boolean isClosed;
+
+    private Workspace(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Starts loading a workspace from its save file, or starting it empty if there is none yet.
+     * @param name Name of the workspace.
+     * @param filePath Path of the save file of the workspace.
+     * @param directoryPath Path of the directory containing the save file.
+     * @param configuration Applied to the storage of the workspace before it is used.
+     * @param loader Runs the loading of the save file.
+     * @param closed Completes once the workspace previously opened under the name is closed, as its last
+     *               changes must be written before the save file is loaded again.
+     * @return Workspace, which hands out the saved tasks once they are loaded.
+     */
+    public static Workspace open(String name, String filePath, String directoryPath,
+            Consumer<Storage> configuration, Executor loader, CompletableFuture<Void> closed) {
+        Workspace workspace = new Workspace(name);
+        closed.whenCompleteAsync((result, e) -> workspace.load(filePath, directoryPath, configuration), loader);
+        return workspace;
+    }
+
+    private void load(String filePath, String directoryPath, Consumer<Storage> configuration) {
+        try {
+            try {
+                Storage loadedStorage = new Storage(filePath, directoryPath);
+                configuration.accept(loadedStorage);
+                List<Task> tasks = loadedStorage.load(share -> loadProgress = share,
+                        prefix -> loadedTaskList = new TaskList(prefix));
+                if (loadedStorage.isLegacyFormat()) {
+                    //Migrate text save files to the binary format
+                    loadedStorage.saveData(tasks);
+                }
+                this.storage = loadedStorage;
+                this.taskList = new TaskList(tasks);
+                this.isLoaded = true;
+            } catch (DukeException | IOException e) {
+                Storage emptyStorage = new Storage(filePath, directoryPath);
+                configuration.accept(emptyStorage);
+                // Changes must not be journaled after a save file that fails to load again on the next start.
+                emptyStorage.startOver();
+                this.storage = emptyStorage;
+                this.taskList = new TaskList(new CompactTaskList());
+            }
+            loadProgress = 1;
+            loadedTaskList = null;
+            loading.complete(null);
+        } catch (DukeException | IOException | RuntimeException e) {
+            loading.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Waits for the save file to be loaded.
+     * @param millis Longest time to wait, in milliseconds.
+     * @return True if loading is over, whether or not the save file could be loaded.
+     */
+    public boolean awaitLoad(long millis) {
+        try {
+            loading.get(millis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writes any changes that have not been saved yet and releases the storage, once it is loaded.
+     * Commands holding the workspace find it closed afterwards, and open it again.
+     */
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            loading.join();
+            storage.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records that the workspace has just been used, which keeps it in memory for longer.
+     */
+    public void touch() {
+        this.lastUsed = System.currentTimeMillis();
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Provides the storage of the workspace, waiting for the save file to be loaded.
+     * @return Storage of the workspace.
+     */
+    public Storage getStorage() {
+        loading.join();
+        return this.storage;
+    }
+
+    /**
+     * Provides the task list of the workspace, waiting for the save file to be loaded.
+     * @return Task list of the workspace.
+     */
+    public TaskList getTaskList() {
+        loading.join();
+        return this.taskList;
+    }
+
+    /**
+     * Provides the first tasks of the save file while the rest is still being loaded, without waiting.
+     * The list holds the tasks as they are in the save file, and must only be read.
+     * @return Task list of the tasks loaded so far, or null if loading is over or has not got far enough.
+     */
+    public TaskList getLoadedTaskList() {
+        return this.loadedTaskList;
+    }
+
+    public ReadWriteLock getLock() {
+        return this.lock;
+    }
+
+    public long getLastUsed() {
+        return this.lastUsed;
+    }
+
+    /**
+     * Gives how much of the save file has been loaded so far.
+     * @return Share of the save file loaded, from 0 to 1.
+     */
+    public double getLoadProgress() {
+        return this.loadProgress;
+    }
+
+    /**
+     * Checks if the save file of the workspace was loaded, rather than started empty,
+     * waiting for loading to be over.
+     * @return True if the save file was loaded.
+     */
+    public boolean isLoaded() {
+        loading.join();
+        return this.isLoaded;
+    }
+
+    /**
+     * Checks if the workspace has been evicted from memory and may no longer be used.
+     * @return True if the workspace is closed.
+     */
+    public boolean isClosed() {
+        return this.isClosed;
+    }
+}
@@ -0,0 +1,172 @@
+package duke;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import duke.utils.Storage;
+
+/**
+ * Keeps the named workspaces, each saved in its own file in the data directory.
+ * Workspaces are loaded in the background on first use, and those other than the current one are evicted from memory
+ * once they have not been used for a while, or when too many are open, so memory stays bounded
+ * however many workspaces exist on disk. Evicted workspaces are closed in the background, and one that is
+ * opened again meanwhile is only loaded once its last changes are written.
+ * @author Jason
+ */
+public class Workspaces {
+    /** Name of the workspace used at start-up, which is saved in the original save file. */
+    public static final String DEFAULT_NAME = "duke";
+    private static final String FILE_EXTENSION = ".txt";
+    private static final int MAX_OPEN_WORKSPACES = 4;
+    private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long EVICTION_PERIOD_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final String directoryPath;
+    private final Consumer<Storage> configuration;
+    // Workspaces in memory, from the least to the most recently used.
+    private final Map<String, Workspace> open = new LinkedHashMap<>(16, 0.75f, true);
+    // Evicted workspaces still being closed, by name.
+    private final Map<String, CompletableFuture<Void>> closing = new HashMap<>();
+    private final ExecutorService loader = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "workspace-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "workspace-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private String current = DEFAULT_NAME;
+
+    /**
+     * Constructs the workspaces in a data directory.
+     * @param directoryPath Directory holding the save files of the workspaces.
+     * @param configuration Applied to the storage of each workspace as it is loaded.
+     */
+    public Workspaces(String directoryPath, Consumer<Storage> configuration) {
+        this.directoryPath = directoryPath;
+        this.configuration = configuration;
+        evictor.scheduleWithFixedDelay(this::evictIdle, EVICTION_PERIOD_MILLIS, EVICTION_PERIOD_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Provides the workspace currently in use, starting to load it if it has been evicted.
+     * @return Current workspace.
+     */
+    public synchronized Workspace current() {
+        return get(current);
+    }
+
+    /**
+     * Makes a workspace the current one, starting to load it on first use.
+     * @param name Name of the workspace.
+     * @return Workspace switched to.
+     */
+    public synchronized Workspace switchTo(String name) {
+        Workspace workspace = get(name);
+        current = name;
+        return workspace;
+    }
+
+    /**
+     * Writes the changes of every workspace in memory and stops loading and evicting them.
+     */
+    public void shutdown() {
+        evictor.shutdown();
+        List<Workspace> remaining;
+        List<CompletableFuture<Void>> evicted;
+        synchronized (this) {
+            remaining = new ArrayList<>(open.values());
+            open.clear();
+            evicted = new ArrayList<>(closing.values());
+        }
+        for (Workspace workspace : remaining) {
+            close(workspace);
+        }
+        for (CompletableFuture<Void> closed : evicted) {
+            closed.join();
+        }
+        loader.shutdown();
+    }
+
+    private Workspace get(String name) {
+        Workspace workspace = open.get(name);
+        if (workspace == null) {
+            String filePath = new File(directoryPath, name + FILE_EXTENSION).getPath();
+            CompletableFuture<Void> closed = closing.getOrDefault(name, CompletableFuture.completedFuture(null));
+            workspace = Workspace.open(name, filePath, directoryPath, configuration, loader, closed);
+            open.put(name, workspace);
+            evictLeastRecentlyUsed(name);
+        }
+        workspace.touch();
+        return workspace;
+    }
+
+    /**
+     * Evicts the least recently used workspaces while too many are open, keeping the current one
+     * and the one just opened.
+     */
+    private void evictLeastRecentlyUsed(String opened) {
+        Iterator<Workspace> workspaces = open.values().iterator();
+        while (open.size() > MAX_OPEN_WORKSPACES && workspaces.hasNext()) {
+            Workspace workspace = workspaces.next();
+            if (!workspace.getName().equals(current) && !workspace.getName().equals(opened)) {
+                workspaces.remove();
+                evict(workspace);
+            }
+        }
+    }
+
+    /**
+     * Evicts the workspaces other than the current one that have not been used for a while.
+     */
+    private synchronized void evictIdle() {
+        long now = System.currentTimeMillis();
+        Iterator<Workspace> workspaces = open.values().iterator();
+        while (workspaces.hasNext()) {
+            Workspace workspace = workspaces.next();
+            if (!workspace.getName().equals(current) && now - workspace.getLastUsed() > IDLE_TIMEOUT_MILLIS) {
+                workspaces.remove();
+                evict(workspace);
+            }
+        }
+    }
+
+    /**
+     * Closes a workspace removed from memory on a loader thread, as it may wait for the workspace to be loaded
+     * or for a long command to finish. Until it is closed, opening it again waits for it to be closed.
+     */
+    private void evict(Workspace workspace) {
+        String name = workspace.getName();
+        CompletableFuture<Void> closed = CompletableFuture.runAsync(() -> close(workspace), loader);
+        closing.put(name, closed);
+        closed.whenComplete((result, e) -> {
+            synchronized (this) {
+                closing.remove(name, closed);
+            }
+        });
+    }
+
+    private static void close(Workspace workspace) {
+        try {
+            workspace.close();
+        } catch (IOException e) {
+            System.out.println("Something went wrong while saving the " + workspace.getName()
+                    + " list: " + e.getMessage());
+        }
+    }
+}
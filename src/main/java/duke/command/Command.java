@@ -1,9 +1,13 @@
 package duke.command;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
 
 import duke.DukeException;
 import duke.TaskList;
+import duke.task.Task;
+import duke.utils.Occurrence;
 import duke.utils.Storage;
 
 /**
@@ -11,6 +15,9 @@ import duke.utils.Storage;
  * @author Jason
  */
 public abstract class Command {
+    private static final int MAX_DESCRIBED_TASKS = 10;
+    private static final String COMMAND_SUFFIX = "Command";
+    private Command inverse;
 
     /**
      * Runs the command based on the command type.
@@ -21,4 +28,106 @@ public abstract class Command {
      * @throws IOException Input Errors.
      */
     public abstract String run(TaskList taskList, Storage storage) throws DukeException, IOException;
+
+    /**
+     * Runs the command, giving its message in one or more chunks as it is produced.
+     * Commands with long messages override this so the whole message is never built at once.
+     * @param taskList Tasklist to update tasks data.
+     * @param storage Storage to save updates to duke.TaskList.
+     * @param sink Receives the chunks of the message, in order.
+     * @throws DukeException Index out of bounds or improper syntax errors.
+     * @throws IOException Input Errors.
+     */
+    public void stream(TaskList taskList, Storage storage, Consumer<String> sink) throws DukeException, IOException {
+        sink.accept(run(taskList, storage));
+    }
+
+    /**
+     * Gives the command that reverses the last run of this command, which commands that change
+     * the task list record as they run. Running the inverse records its own inverse in turn.
+     * @return Command undoing this one, or null if there is nothing to undo.
+     */
+    public Command getInverse() {
+        return this.inverse;
+    }
+
+    protected void setInverse(Command inverse) {
+        this.inverse = inverse;
+    }
+
+    /**
+     * Gives the name of the kind of command, under which the time it takes to run is recorded.
+     * @return Name of the class of the command without the "Command" ending, e.g. "ToDo".
+     */
+    public String getName() {
+        String name = getClass().getSimpleName();
+        return name.endsWith(COMMAND_SUFFIX) ? name.substring(0, name.length() - COMMAND_SUFFIX.length()) : name;
+    }
+
+    /**
+     * Checks if the command only reads the task list, so it may run alongside other such commands.
+     * @return True if the command does not change the task list or storage.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Checks if the command can give its whole answer from the first tasks of the list while the rest
+     * is still being loaded, in which case it runs on those tasks without the storage.
+     * @param loadedCount Number of tasks loaded so far.
+     * @return True if the command need not wait for the whole list.
+     */
+    public boolean canRunWhileLoading(int loadedCount) {
+        return false;
+    }
+
+    /**
+     * Lists the tasks at the given indexes, numbered by their position in the task list.
+     * The tasks are read after the query that found the indexes, so the list must not change in between,
+     * which holds while the command runs under the lock of its workspace.
+     * @param taskList TaskList holding the tasks.
+     * @param indexes Indexes of the tasks to be listed.
+     * @return String of the tasks, one per line.
+     */
+    protected static String listTasks(TaskList taskList, List<Integer> indexes) {
+        StringBuilder message = new StringBuilder();
+        for (Integer i : indexes) {
+            message.append(i + 1).append(". ").append(taskList.get(i)).append("\n");
+        }
+        return message.toString();
+    }
+
+    /**
+     * Lists occurrences of the tasks, each numbered by the position of its task in the task list
+     * and shown with the date it falls on.
+     * @param taskList TaskList holding the tasks.
+     * @param occurrences Occurrences of the tasks to be listed.
+     * @return String of the occurrences, one per line.
+     */
+    protected static String listOccurrences(TaskList taskList, List<Occurrence> occurrences) {
+        StringBuilder message = new StringBuilder();
+        for (Occurrence occurrence : occurrences) {
+            int i = occurrence.getIndex();
+            message.append(i + 1).append(". ").append(taskList.get(i).toString(occurrence.getDate())).append("\n");
+        }
+        return message.toString();
+    }
+
+    /**
+     * Describes the tasks a command has changed, one per line, leaving out all but the first few.
+     * @param tasks Tasks that were changed.
+     * @return String of the tasks.
+     */
+    protected static String describeTasks(List<Task> tasks) {
+        StringBuilder message = new StringBuilder();
+        int described = Math.min(tasks.size(), MAX_DESCRIBED_TASKS);
+        for (int i = 0; i < described; i++) {
+            message.append(i == 0 ? "  " : "\n  ").append(tasks.get(i));
+        }
+        if (tasks.size() > described) {
+            message.append("\n  ...and ").append(tasks.size() - described).append(" more");
+        }
+        return message.toString();
+    }
 }
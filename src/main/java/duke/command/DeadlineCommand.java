@@ -3,10 +3,10 @@ package duke.command;
 import java.io.IOException;
 
 import duke.Date;
-import duke.DukeException;
 import duke.TaskList;
 import duke.task.Deadline;
-import duke.utils.Parser;
+import duke.task.Recurrence;
+import duke.task.RecurringDeadline;
 import duke.utils.Storage;
 
 /**
@@ -14,10 +14,20 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class DeadlineCommand extends Command {
-    private String[] commandDetails;
+    private String description;
+    private Date date;
+    private Recurrence recurrence;
 
-    public DeadlineCommand(String[] commandDetails) {
-        this.commandDetails = commandDetails;
+    /**
+     * Constructs a DeadlineCommand.
+     * @param description Description of the deadline.
+     * @param date Date the deadline is due, or its first date if it repeats.
+     * @param recurrence How often the deadline repeats, or null if it happens once.
+     */
+    public DeadlineCommand(String description, Date date, Recurrence recurrence) {
+        this.description = description;
+        this.date = date;
+        this.recurrence = recurrence;
     }
 
     /**
@@ -25,24 +35,14 @@ public class DeadlineCommand extends Command {
      * @param taskList TaskList to add to deadline to.
      * @param storage Storage to save new deadline task.
      * @return String message of running the "deadline" command.
-     * @throws DukeException Deadline task has no description or improper syntax.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        try {
-            String[] deadlineDetails = commandDetails[1].split(" /by ", 2);
-            int correctArrayLength = 2;
-            if (deadlineDetails.length == correctArrayLength) {
-                Date date = Parser.parseDate(deadlineDetails[1]);
-                Deadline deadline = new Deadline(deadlineDetails[0], date);
-                return taskList.addTask(deadline, storage);
-            } else {
-                throw new DukeException("\uD83D\uDE14 OOPS!!! Please follow the syntax for an "
-                        + "'deadline' command: event [description] /by [date].");
-            }
-        } catch (IndexOutOfBoundsException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please follow the syntax for an "
-                    + "'deadline' command: event [description] /by [date].");
-        }
+    public String run(TaskList taskList, Storage storage) throws IOException {
+        Deadline deadline = recurrence == null
+                ? new Deadline(description, date)
+                : new RecurringDeadline(description, date, recurrence);
+        String message = taskList.addTask(deadline, storage);
+        setInverse(new DeleteTaskCommand(taskList.size() - 1));
+        return message;
     }
 }
@@ -1,10 +1,12 @@
 package duke.command;
 
 import java.io.IOException;
+import java.util.List;
 
 import duke.DukeException;
 import duke.TaskList;
 import duke.task.Task;
+import duke.utils.Selection;
 import duke.utils.Storage;
 
 /**
@@ -12,36 +14,37 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class DeleteTaskCommand extends Command {
-    private String taskIndex;
+    private Selection selection;
 
-    public DeleteTaskCommand(String taskIndex) {
-        this.taskIndex = taskIndex;
+    public DeleteTaskCommand(int taskIndex) {
+        this(Selection.of(taskIndex));
+    }
+
+    public DeleteTaskCommand(Selection selection) {
+        this.selection = selection;
     }
 
     /**
-     * Deletes a task from the list.
-     * @param taskList TaskList to delete task at index from.
-     * @param storage Storage to overwrite previous save after deletion.
+     * Deletes the selected tasks from the list in a single pass, recorded as one change.
+     * @param taskList TaskList to delete the tasks from.
+     * @param storage Storage to record the deletion in.
      * @return String message of running the "delete" command.
-     * @throws DukeException Accessing an index out of bounds of the taskList array.
+     * @throws DukeException Index out of bounds or no task selected.
      */
     @Override
     public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        try {
-            int formattedIndex = Integer.parseInt(taskIndex.split(" ", 2)[0]) - 1;
-            Task task = taskList.get(formattedIndex);
-            taskList.deleteTask(formattedIndex);
-            int numOfTasks = taskList.size();
+        int[] indexes = selection.resolve(taskList);
+        List<Task> tasks = taskList.deleteTasks(indexes, storage);
+        setInverse(new RestoreTaskCommand(indexes, tasks));
+        int numOfTasks = taskList.size();
 
-            String message = "Noted. I've removed this task: \n  "
-                    + task + "\n"
+        if (indexes.length == 1) {
+            return "Noted. I've removed this task: \n  "
+                    + tasks.get(0) + "\n"
                     + "Now you have " + numOfTasks + " tasks in the list.";
-
-            //Saving data
-            storage.saveData(taskList.getList());
-            return message;
-        } catch (IndexOutOfBoundsException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter a valid index number!");
         }
+        return "Noted. I've removed these " + indexes.length + " tasks: \n"
+                + describeTasks(tasks) + "\n"
+                + "Now you have " + numOfTasks + " tasks in the list.";
     }
 }
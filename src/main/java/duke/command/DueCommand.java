@@ -0,0 +1,40 @@
+package duke.command;
+
+import java.util.List;
+
+import duke.Date;
+import duke.TaskList;
+import duke.utils.Occurrence;
+import duke.utils.Storage;
+
+/**
+ * Handles the "due" command.
+ * @author Jason
+ */
+public class DueCommand extends Command {
+    private Date date;
+
+    public DueCommand(Date date) {
+        this.date = date;
+    }
+
+    /**
+     * Shows the tasks not done yet that are due on or before a date.
+     * @param taskList TaskList to search.
+     * @param storage Storage of the task list, which is not modified.
+     * @return String message of running the "due" command.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) {
+        List<Occurrence> occurrences = taskList.dueBy(date.getFormattedDate());
+        if (occurrences.isEmpty()) {
+            return "Hooray! You have no tasks due by " + date + ".";
+        }
+        return "Here are your tasks due by " + date + ":\n" + listOccurrences(taskList, occurrences);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
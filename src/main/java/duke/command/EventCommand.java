@@ -3,10 +3,10 @@ package duke.command;
 import java.io.IOException;
 
 import duke.Date;
-import duke.DukeException;
 import duke.TaskList;
 import duke.task.Event;
-import duke.utils.Parser;
+import duke.task.Recurrence;
+import duke.task.RecurringEvent;
 import duke.utils.Storage;
 
 /**
@@ -14,10 +14,20 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class EventCommand extends Command {
-    private String[] commandDetails;
+    private String description;
+    private Date date;
+    private Recurrence recurrence;
 
-    public EventCommand(String[] commandDetails) {
-        this.commandDetails = commandDetails;
+    /**
+     * Constructs an EventCommand.
+     * @param description Description of the event.
+     * @param date Date the event is on, or its first date if it repeats.
+     * @param recurrence How often the event repeats, or null if it happens once.
+     */
+    public EventCommand(String description, Date date, Recurrence recurrence) {
+        this.description = description;
+        this.date = date;
+        this.recurrence = recurrence;
     }
 
     /**
@@ -25,24 +35,14 @@ public class EventCommand extends Command {
      * @param taskList TaskList to add to event to.
      * @param storage Storage to save new event task.
      * @return String message of running the "event" command.
-     * @throws DukeException Event task has no description or improper syntax.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        try {
-            String[] eventDetails = commandDetails[1].split(" /at ", 2);
-            int correctArrayLength = 2;
-            if (eventDetails.length == correctArrayLength) {
-                Date date = Parser.parseDate(eventDetails[1]);
-                Event event = new Event(eventDetails[0], date);
-                return taskList.addTask(event, storage);
-            } else {
-                throw new DukeException("\uD83D\uDE14 OOPS!!! Please follow the syntax for an "
-                        + "'event' command: event [description] /at [date].");
-            }
-        } catch (IndexOutOfBoundsException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please follow the syntax for an "
-                    + "'event' command: event [description] /at [date].");
-        }
+    public String run(TaskList taskList, Storage storage) throws IOException {
+        Event event = recurrence == null
+                ? new Event(description, date)
+                : new RecurringEvent(description, date, recurrence);
+        String message = taskList.addTask(event, storage);
+        setInverse(new DeleteTaskCommand(taskList.size() - 1));
+        return message;
     }
 }
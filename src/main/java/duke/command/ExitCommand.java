@@ -1,5 +1,7 @@
 package duke.command;
 
+import java.io.IOException;
+
 import duke.TaskList;
 import duke.gui.Ui;
 import duke.utils.Storage;
@@ -11,11 +13,12 @@ import duke.utils.Storage;
 public class ExitCommand extends Command {
 
     /**
-     * Exits the application.
+     * Exits the application after writing any unsaved changes.
      * @return String message of running the "bye" command.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) {
+    public String run(TaskList taskList, Storage storage) throws IOException {
+        storage.flush();
         return Ui.bye();
     }
 }
@@ -1,10 +1,7 @@
 package duke.command;
 
-import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
-import duke.DukeException;
 import duke.TaskList;
 import duke.utils.Storage;
 
@@ -13,45 +10,46 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class FindCommand extends Command {
+    private static final int MAX_FUZZY_RESULTS = 20;
     private String keyWord;
+    private boolean isFuzzy;
+
     public FindCommand(String keyWord) {
+        this(keyWord, false);
+    }
+
+    /**
+     * Constructs a FindCommand.
+     * @param keyWord Keywords to search for.
+     * @param isFuzzy True to find the tasks most similar to the keywords, which may be misspelt.
+     */
+    public FindCommand(String keyWord, boolean isFuzzy) {
         this.keyWord = keyWord;
+        this.isFuzzy = isFuzzy;
     }
 
     /**
-     * Finds the tasks with descriptions containing the keyWord.
+     * Finds the tasks with descriptions containing the keywords.
+     * Every keyword must match the start of a word in the description, while
+     * "OR" separates alternative groups of keywords.
+     * A fuzzy search instead lists the tasks most similar to the keywords, the closest first.
      * @param taskList TaskList to update tasks data.
      * @param storage Storage to save updates to TaskList.
      * @return String message of running the "find" command.
-     * @throws DukeException Find command with improper syntax.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        int correctKeyWordLength = 1;
-        if (keyWord.split(" ").length == correctKeyWordLength) {
-            List<Integer> taskIndexes = new ArrayList<>(100);
-            StringBuilder message = new StringBuilder();
-
-            for (int i = 0; i < taskList.size(); i++) {
-                String taskDescription = taskList.get(i).getDescription();
-                if (taskDescription.contains(keyWord)) {
-                    taskIndexes.add(i);
-                }
-            }
-
-            if (taskIndexes.size() == 0) {
-                message = new StringBuilder("\uD83D\uDE14 Sorry! I am unable to find any task with this keyword: "
-                        + keyWord + "\n");
-            } else {
-                for (Integer i: taskIndexes) {
-                    message.append(i + 1).append(". ").append(taskList.get(i).toString()).append("\n");
-                }
-            }
-
-            return message.toString();
-
-        } else {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please only input ONE keyword.");
+    public String run(TaskList taskList, Storage storage) {
+        List<Integer> taskIndexes = isFuzzy
+                ? taskList.findFuzzy(keyWord, MAX_FUZZY_RESULTS)
+                : taskList.find(keyWord);
+        if (taskIndexes.size() == 0) {
+            return "\uD83D\uDE14 Sorry! I am unable to find any task with this keyword: " + keyWord + "\n";
         }
+        return listTasks(taskList, taskIndexes);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
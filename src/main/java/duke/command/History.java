@@ -0,0 +1,92 @@
+package duke.command;
+
+/**
+ * Keeps the commands that undo and redo the latest changes to the task list.
+ * Only the inverse of each change is kept, in a ring buffer that drops the oldest change once full.
+ * @author Jason
+ */
+public class History {
+    private final Command[] undoCommands;
+    private final Command[] redoCommands;
+    private int head;
+    private int undoCount;
+    private int redoCount;
+
+    /**
+     * Constructs an empty History.
+     * @param capacity Maximum number of changes that can be undone.
+     */
+    public History(int capacity) {
+        assert(capacity > 0);
+        this.undoCommands = new Command[capacity];
+        this.redoCommands = new Command[capacity];
+    }
+
+    /**
+     * Records a command that has just run, if it changed the task list.
+     * Changes that were undone can no longer be redone afterwards.
+     * @param command Command that has run.
+     */
+    public void record(Command command) {
+        if (command.getInverse() == null) {
+            return;
+        }
+        pushUndo(command.getInverse());
+        while (redoCount > 0) {
+            redoCommands[--redoCount] = null;
+        }
+    }
+
+    /**
+     * Takes the command undoing the latest change.
+     * @return Command to be run, or null if there is nothing to undo.
+     */
+    public Command takeUndo() {
+        if (undoCount == 0) {
+            return null;
+        }
+        int slot = (head + --undoCount) % undoCommands.length;
+        Command command = undoCommands[slot];
+        undoCommands[slot] = null;
+        return command;
+    }
+
+    /**
+     * Adds the command undoing a change that was just redone.
+     * @param command Command to be run on the next undo, or null if there is none.
+     */
+    public void pushUndo(Command command) {
+        if (command == null) {
+            return;
+        }
+        if (undoCount == undoCommands.length) {
+            undoCommands[head] = command;
+            head = (head + 1) % undoCommands.length;
+        } else {
+            undoCommands[(head + undoCount++) % undoCommands.length] = command;
+        }
+    }
+
+    /**
+     * Takes the command redoing the latest change that was undone.
+     * @return Command to be run, or null if there is nothing to redo.
+     */
+    public Command takeRedo() {
+        if (redoCount == 0) {
+            return null;
+        }
+        Command command = redoCommands[--redoCount];
+        redoCommands[redoCount] = null;
+        return command;
+    }
+
+    /**
+     * Adds the command redoing a change that was just undone.
+     * @param command Command to be run on the next redo, or null if there is none.
+     */
+    public void pushRedo(Command command) {
+        if (command != null && redoCount < redoCommands.length) {
+            redoCommands[redoCount++] = command;
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package duke.command;
 
 import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import duke.DukeException;
 import duke.TaskList;
+import duke.task.Task;
+import duke.utils.Selection;
 import duke.utils.Storage;
 
 /**
@@ -11,33 +16,58 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class MarkTaskCommand extends Command {
-    private String taskIndex;
+    private Selection selection;
 
-    public MarkTaskCommand(String taskIndex) {
-        this.taskIndex = taskIndex;
+    public MarkTaskCommand(int taskIndex) {
+        this(Selection.of(taskIndex));
+    }
+
+    public MarkTaskCommand(Selection selection) {
+        this.selection = selection;
     }
 
     /**
-     * Marks a task in the list.
-     * @param taskList TaskList to update the task that is marked.
-     * @param storage Storage to save marked task.
+     * Marks the selected tasks in the list, recorded as one change.
+     * Recurring tasks move on past their occurrence from today instead, and are put back as they were on undo.
+     * @param taskList TaskList to update the tasks that are marked.
+     * @param storage Storage to save marked tasks.
      * @return String message of running the "mark" command.
-     * @throws DukeException Index out of bounds or task at index has not been created
+     * @throws DukeException Index out of bounds or no task selected.
      */
     @Override
     public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        int formattedIndex = Integer.parseInt(taskIndex) - 1;
-        try {
-            taskList.get(formattedIndex).markAsDone();
-            String message = "Nice! I've marked this task as done: \n  "
-                    + taskList.get(formattedIndex);
-            //Saving data
-            storage.saveData(taskList.getList());
-            return message;
-        } catch (NullPointerException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! There is no task created for this index!");
-        } catch (IndexOutOfBoundsException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter a valid index number!");
+        //Updating and saving data
+        int[] indexes = selection.resolve(taskList);
+        List<Task> previous = new ArrayList<>(indexes.length);
+        boolean isRecurring = false;
+        for (int i : indexes) {
+            Task task = taskList.get(i);
+            previous.add(task);
+            isRecurring |= task.getRecurrence() != null;
+        }
+        int[] changed = taskList.completeTasks(indexes, LocalDate.now(), storage);
+        if (changed.length == 0) {
+            setInverse(null);
+        } else if (!isRecurring) {
+            setInverse(new UnmarkTaskCommand(Selection.ofIndexes(changed)));
+        } else {
+            List<Task> changedTasks = new ArrayList<>(changed.length);
+            for (int i = 0, next = 0; i < indexes.length && next < changed.length; i++) {
+                if (indexes[i] == changed[next]) {
+                    changedTasks.add(previous.get(i));
+                    next++;
+                }
+            }
+            setInverse(new ReplaceTaskCommand(changed, changedTasks));
+        }
+
+        if (indexes.length == 1) {
+            return "Nice! I've marked this task as done: \n  " + taskList.get(indexes[0]);
+        }
+        List<Task> tasks = new ArrayList<>(indexes.length);
+        for (int i : indexes) {
+            tasks.add(taskList.get(i));
         }
+        return "Nice! I've marked these " + indexes.length + " tasks as done: \n" + describeTasks(tasks);
     }
 }
@@ -1,6 +1,11 @@
 package duke.command;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+import duke.DukeException;
 import duke.TaskList;
+import duke.task.Task;
 import duke.utils.Storage;
 
 /**
@@ -8,24 +13,155 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class PrintListCommand extends Command {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int CHUNK_SIZE = 100;
+    private static final String OPTION_PAGE_SIZE = "--page-size";
+    private static final String OPTION_ALL = "--all";
+    private String options;
+    private int page = 1;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private boolean isPaged;
+    private boolean isAll;
+
+    /**
+     * Constructs a PrintListCommand.
+     * @param options Options given after "list", e.g. "3 --page-size 200" or "--all", or null if none.
+     */
+    public PrintListCommand(String options) {
+        this.options = options;
+    }
 
     /**
-     * Prints all values of list currently.
+     * Prints the whole list, or a single page of it when a page number or size is given.
      * @param taskList TaskList to print from.
      * @param storage Storage to store duke.TaskList data to.
      * @return String message of running the "list" command.
+     * @throws DukeException Page number or size that is not valid.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) {
+    public String run(TaskList taskList, Storage storage) throws DukeException {
         StringBuilder message = new StringBuilder();
+        stream(taskList, storage, message::append);
+        return String.valueOf(message);
+    }
+
+    /**
+     * Prints the tasks in chunks of a bounded number of lines, so a long list is never
+     * held in a single message. The tasks are printed from a snapshot, so every chunk shows the list
+     * as it was when the command started.
+     * @param taskList TaskList to print from.
+     * @param storage Storage to store duke.TaskList data to.
+     * @param sink Receives the chunks of the message, in order.
+     * @throws DukeException Page number or size that is not valid.
+     */
+    @Override
+    public void stream(TaskList taskList, Storage storage, Consumer<String> sink) throws DukeException {
+        parseOptions();
+        List<Task> tasks = taskList.snapshot();
+        int size = tasks.size();
         // Empty list
-        if (taskList.size() == 0) {
-            message = new StringBuilder("List is currently empty!");
-        } else {
-            for (int i = 0; i < taskList.size(); i++) {
-                message.append(i + 1).append(". ").append(taskList.get(i)).append("\n");
+        if (size == 0) {
+            sink.accept("List is currently empty!");
+            return;
+        }
+        if (isAll || !isPaged) {
+            printTasks(tasks, 0, size, "", sink);
+            return;
+        }
+
+        int pageCount = (size - 1) / pageSize + 1;
+        if (page > pageCount) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The list only has " + pageCount
+                    + (pageCount == 1 ? " page!" : " pages!"));
+        }
+        int start = (page - 1) * pageSize;
+        int end = Math.min(start + pageSize, size);
+        printTasks(tasks, start, end, footerOf(pageCount), sink);
+    }
+
+    /**
+     * Prints the tasks from start to end in chunks, with the footer after the last task.
+     */
+    private static void printTasks(List<Task> tasks, int start, int end, String footer, Consumer<String> sink) {
+        for (int chunkStart = start; chunkStart < end; chunkStart += CHUNK_SIZE) {
+            int chunkEnd = Math.min(chunkStart + CHUNK_SIZE, end);
+            StringBuilder chunk = new StringBuilder();
+            for (int i = chunkStart; i < chunkEnd; i++) {
+                chunk.append(i + 1).append(". ").append(tasks.get(i)).append("\n");
             }
+            if (chunkEnd == end) {
+                chunk.append(footer);
+            }
+            sink.accept(chunk.toString());
         }
-        return String.valueOf(message);
+    }
+
+    private String footerOf(int pageCount) {
+        if (pageCount == 1) {
+            return "";
+        }
+        String footer = "Page " + page + " of " + pageCount + ".";
+        if (page < pageCount) {
+            footer += " Type \"list " + (page + 1)
+                    + (pageSize == DEFAULT_PAGE_SIZE ? "" : " " + OPTION_PAGE_SIZE + " " + pageSize)
+                    + "\" for the next page, or \"list " + OPTION_ALL + "\" for every task.";
+        }
+        return footer;
+    }
+
+    private void parseOptions() throws DukeException {
+        if (options == null || options.isBlank()) {
+            return;
+        }
+        String[] words = options.trim().split("\\s+");
+        for (int i = 0; i < words.length; i++) {
+            switch (words[i]) {
+            case (OPTION_ALL):
+                isAll = true;
+                break;
+            case (OPTION_PAGE_SIZE):
+                if (i + 1 == words.length) {
+                    throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter the number of tasks per page!");
+                }
+                pageSize = parsePositive(words[++i]);
+                isPaged = true;
+                break;
+            default:
+                page = parsePositive(words[i]);
+                isPaged = true;
+            }
+        }
+    }
+
+    private static int parsePositive(String input) throws DukeException {
+        int number;
+        try {
+            number = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            number = 0;
+        }
+        if (number <= 0) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter a positive number instead of \""
+                    + input + "\"!");
+        }
+        return number;
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    /**
+     * Allows a page to be printed before the whole list is loaded, once the tasks on it are.
+     */
+    @Override
+    public boolean canRunWhileLoading(int loadedCount) {
+        try {
+            parseOptions();
+        } catch (DukeException e) {
+            return false;
+        }
+        return isPaged && !isAll && (long) page * pageSize <= loadedCount;
     }
 }
@@ -0,0 +1,34 @@
+package duke.command;
+
+import java.io.IOException;
+
+import duke.DukeException;
+import duke.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Handles the "redo" command.
+ * @author Jason
+ */
+public class RedoCommand extends Command {
+
+    /**
+     * Makes the latest change that was undone again.
+     * @param taskList TaskList to be changed.
+     * @param storage Storage to record the change in.
+     * @return String message of running the "redo" command.
+     * @throws DukeException Change could not be made again.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
+        History history = taskList.getHistory();
+        Command redo = history.takeRedo();
+        if (redo == null) {
+            return "There is nothing to redo!";
+        }
+
+        String message = redo.run(taskList, storage);
+        history.pushUndo(redo.getInverse());
+        return "Redone! " + message;
+    }
+}
@@ -0,0 +1,44 @@
+package duke.command;
+
+import java.io.IOException;
+import java.util.List;
+
+import duke.TaskList;
+import duke.task.Task;
+import duke.utils.Storage;
+
+/**
+ * Puts tasks back as they were before a change, when marking a recurring task is undone.
+ * @author Jason
+ */
+public class ReplaceTaskCommand extends Command {
+    private int[] taskIndexes;
+    private List<Task> tasks;
+
+    /**
+     * Constructs a ReplaceTaskCommand.
+     * @param taskIndexes Indexes of the tasks, in ascending order.
+     * @param tasks Tasks to put at the indexes, in the same order.
+     */
+    public ReplaceTaskCommand(int[] taskIndexes, List<Task> tasks) {
+        this.taskIndexes = taskIndexes;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Replaces the tasks at the indexes, recorded as one change.
+     * @param taskList TaskList to update.
+     * @param storage Storage to record the update in.
+     * @return String message of putting the tasks back.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) throws IOException {
+        List<Task> replaced = taskList.replaceTasks(taskIndexes, tasks, storage);
+        setInverse(new ReplaceTaskCommand(taskIndexes, replaced));
+
+        if (taskIndexes.length == 1) {
+            return "OK, I've put this task back as it was: \n  " + tasks.get(0);
+        }
+        return "OK, I've put these " + taskIndexes.length + " tasks back as they were: \n" + describeTasks(tasks);
+    }
+}
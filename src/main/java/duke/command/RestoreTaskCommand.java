@@ -0,0 +1,58 @@
+package duke.command;
+
+import java.io.IOException;
+import java.util.List;
+
+import duke.TaskList;
+import duke.task.Task;
+import duke.utils.Selection;
+import duke.utils.Storage;
+
+/**
+ * Puts deleted tasks back at their indexes, when a "delete" is undone.
+ * @author Jason
+ */
+public class RestoreTaskCommand extends Command {
+    private int[] taskIndexes;
+    private List<Task> tasks;
+
+    /**
+     * Constructs a RestoreTaskCommand for a single task.
+     * @param taskIndex Index the task was deleted from.
+     * @param task Task that was deleted.
+     */
+    public RestoreTaskCommand(int taskIndex, Task task) {
+        this(new int[] {taskIndex}, List.of(task));
+    }
+
+    /**
+     * Constructs a RestoreTaskCommand.
+     * @param taskIndexes Indexes the tasks were deleted from, in ascending order.
+     * @param tasks Tasks that were deleted, in the same order.
+     */
+    public RestoreTaskCommand(int[] taskIndexes, List<Task> tasks) {
+        this.taskIndexes = taskIndexes;
+        this.tasks = tasks;
+    }
+
+    /**
+     * Inserts the tasks back into the list in a single pass, which puts every task back in its old place.
+     * @param taskList TaskList to insert the tasks into.
+     * @param storage Storage to record the insertions in.
+     * @return String message of restoring the tasks.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) throws IOException {
+        taskList.insertTasks(taskIndexes, tasks, storage);
+        setInverse(new DeleteTaskCommand(Selection.ofIndexes(taskIndexes)));
+
+        if (taskIndexes.length == 1) {
+            return "I've put this task back: \n  "
+                    + tasks.get(0) + "\n"
+                    + "Now you have " + taskList.size() + " tasks in the list.";
+        }
+        return "I've put these " + taskIndexes.length + " tasks back: \n"
+                + describeTasks(tasks) + "\n"
+                + "Now you have " + taskList.size() + " tasks in the list.";
+    }
+}
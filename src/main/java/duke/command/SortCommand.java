@@ -1,8 +1,7 @@
 package duke.command;
 
-import java.io.IOException;
+import java.util.List;
 
-import duke.DukeException;
 import duke.TaskList;
 import duke.utils.Storage;
 
@@ -12,18 +11,23 @@ import duke.utils.Storage;
  */
 public class SortCommand extends Command {
     /**
-     * Sorts the task list.
+     * Shows the tasks ordered by date, from the date index of the task list.
+     * The order of the list itself is left unchanged, so each task keeps its index.
      * @param taskList TaskList to sort.
-     * @param storage Storage to save new sorted tasklist.
+     * @param storage Storage of the task list, which is not modified.
      * @return String message of running the "sort" command.
      */
     @Override
-    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        //@@author Stimpson Cat-reused
-        //Reused from https://stackoverflow.com/questions/5927109/sort-objects-in-arraylist-by-date
-        // with minor modifications
-        taskList.getList().sort((task1, task2) -> task1.getDate().compareTo(task2.getDate()));
-        storage.saveData(taskList.getList());
-        return "Your Tasks has been sorted!";
+    public String run(TaskList taskList, Storage storage) {
+        List<Integer> taskIndexes = taskList.sortedByDate();
+        if (taskIndexes.size() == 0) {
+            return "List is currently empty!";
+        }
+        return "Here are your tasks sorted by date:\n" + listTasks(taskList, taskIndexes);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
@@ -0,0 +1,59 @@
+package duke.command;
+
+import java.util.Map;
+
+import duke.TaskList;
+import duke.utils.LatencyHistogram;
+import duke.utils.Metrics;
+import duke.utils.Storage;
+
+/**
+ * Handles the "stats" command.
+ * @author Jason
+ */
+public class StatsCommand extends Command {
+    private static final double NANOS_PER_MILLI = 1_000_000;
+
+    /**
+     * Shows how long commands, parsing, loading and saving have taken since the application started,
+     * the bytes saved and the number of tasks.
+     * @param taskList TaskList to be counted.
+     * @param storage Storage of the task list.
+     * @return String message of running the "stats" command.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) {
+        Metrics metrics = Metrics.get();
+        StringBuilder message = new StringBuilder("Here is how long things have taken (median / 99% / longest):\n");
+        for (Map.Entry<String, LatencyHistogram> entry : metrics.getCommandLatencies().entrySet()) {
+            describe(message, entry.getKey(), entry.getValue());
+        }
+        describe(message, "Parsing", metrics.getParseLatency());
+        describe(message, "Loading", metrics.getLoadLatency());
+        describe(message, "Saving", metrics.getSaveLatency());
+        message.append(String.format("%,d bytes saved in total, %,d of them to the journal. "
+                + "The last snapshot took %,d bytes.\n",
+                metrics.getBytesSaved(), metrics.getBytesJournalled(), metrics.getLastSaveBytes()));
+        message.append(String.format("There are %,d tasks in the list.", taskList.size()));
+        return message.toString();
+    }
+
+    private static void describe(StringBuilder message, String name, LatencyHistogram latency) {
+        if (latency.getCount() == 0) {
+            return;
+        }
+        message.append(String.format("  %s (%,d): %.3f / %.3f / %.3f ms\n", name, latency.getCount(),
+                latency.getPercentile(50) / NANOS_PER_MILLI, latency.getPercentile(99) / NANOS_PER_MILLI,
+                latency.getMax() / NANOS_PER_MILLI));
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+
+    @Override
+    public boolean canRunWhileLoading(int loadedCount) {
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package duke.command;
+
+import duke.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Handles the "switch" command.
+ * The application makes the named workspace the current one before the command runs against it.
+ * @author Jason
+ */
+public class SwitchCommand extends Command {
+    private String name;
+
+    public SwitchCommand(String name) {
+        this.name = name;
+    }
+
+    public String getWorkspaceName() {
+        return this.name;
+    }
+
+    /**
+     * Reports the workspace switched to.
+     * @param taskList TaskList of the workspace switched to.
+     * @param storage Storage of the workspace switched to.
+     * @return String message of running the "switch" command.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) {
+        return "Switched to the \"" + name + "\" list, which has " + taskList.size() + " tasks.";
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -14,10 +14,10 @@ import duke.utils.Storage;
  * @author Jason
  */
 public class ToDoCommand extends Command {
-    private String[] commandDetails;
+    private String description;
 
-    public ToDoCommand(String[] commandDetails) {
-        this.commandDetails = commandDetails;
+    public ToDoCommand(String description) {
+        this.description = description;
     }
 
     /**
@@ -25,18 +25,15 @@ public class ToDoCommand extends Command {
      * @param taskList TaskList to add to do task to.
      * @param storage Storage to save new to do task.
      * @return String message of running the "todo" command.
-     * @throws DukeException To do task has no description.
+     * @throws DukeException Placeholder date could not be parsed.
      */
     @Override
     public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        int minimumTodoCommandLength = 2;
-        if (commandDetails.length >= minimumTodoCommandLength) {
-            //Arbitrary date for sorting to do tasks.
-            Date date = Parser.parseDate("9999-12-31");
-            Todo todo = new Todo(commandDetails[1], date);
-            return taskList.addTask(todo, storage);
-        } else {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! The description of a todo cannot be empty.");
-        }
+        //Placeholder date, as to do tasks are not dated.
+        Date date = Parser.parseDate("9999-12-31");
+        Todo todo = new Todo(description, date);
+        String message = taskList.addTask(todo, storage);
+        setInverse(new DeleteTaskCommand(taskList.size() - 1));
+        return message;
     }
 }
@@ -0,0 +1,34 @@
+package duke.command;
+
+import java.io.IOException;
+
+import duke.DukeException;
+import duke.TaskList;
+import duke.utils.Storage;
+
+/**
+ * Handles the "undo" command.
+ * @author Jason
+ */
+public class UndoCommand extends Command {
+
+    /**
+     * Reverses the latest change to the task list that has not been undone yet.
+     * @param taskList TaskList to be changed back.
+     * @param storage Storage to record the change in.
+     * @return String message of running the "undo" command.
+     * @throws DukeException Change could not be reversed.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
+        History history = taskList.getHistory();
+        Command undo = history.takeUndo();
+        if (undo == null) {
+            return "There is nothing to undo!";
+        }
+
+        String message = undo.run(taskList, storage);
+        history.pushRedo(undo.getInverse());
+        return "Undone! " + message;
+    }
+}
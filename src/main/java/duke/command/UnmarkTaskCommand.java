@@ -1,44 +1,51 @@
 package duke.command;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import duke.DukeException;
 import duke.TaskList;
+import duke.task.Task;
+import duke.utils.Selection;
 import duke.utils.Storage;
 
 /**
- * Handles an "unmark" command.
+ * Handles the "unmark" command.
  * @author Jason
  */
 public class UnmarkTaskCommand extends Command {
-    private String taskIndex;
+    private Selection selection;
 
-    public UnmarkTaskCommand(String taskIndex) {
-        this.taskIndex = taskIndex;
+    public UnmarkTaskCommand(int taskIndex) {
+        this(Selection.of(taskIndex));
+    }
+
+    public UnmarkTaskCommand(Selection selection) {
+        this.selection = selection;
     }
 
     /**
-     * Unmarks a task in the list.
-     * @param taskList TaskList to update the task that is unmarked.
-     * @param storage Storage to save unmarked task.
+     * Unmarks the selected tasks in the list, recorded as one change.
+     * @param taskList TaskList to update the tasks that are unmarked.
+     * @param storage Storage to save unmarked tasks.
      * @return String message of running the "unmark" command.
-     * @exception DukeException Index out of bounds or task at index has not been created.
+     * @throws DukeException Index out of bounds or no task selected.
      */
     @Override
     public String run(TaskList taskList, Storage storage) throws DukeException, IOException {
-        int formattedIndex = Integer.parseInt(taskIndex) - 1;
+        //Updating and saving data
+        int[] indexes = selection.resolve(taskList);
+        int[] changed = taskList.markTasks(indexes, false, storage);
+        setInverse(changed.length == 0 ? null : new MarkTaskCommand(Selection.ofIndexes(changed)));
 
-        try {
-            taskList.get(formattedIndex).markAsUndone();
-            String message = "OK, I've marked this task as not done yet: \n  "
-                    + taskList.get(formattedIndex);
-            //Saving data
-            storage.saveData(taskList.getList());
-            return message;
-        } catch (NullPointerException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! There is no task created for this index!");
-        } catch (IndexOutOfBoundsException e) {
-            throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter a valid index number!");
+        if (indexes.length == 1) {
+            return "OK, I've marked this task as not done yet: \n  " + taskList.get(indexes[0]);
+        }
+        List<Task> tasks = new ArrayList<>(indexes.length);
+        for (int i : indexes) {
+            tasks.add(taskList.get(i));
         }
+        return "OK, I've marked these " + indexes.length + " tasks as not done yet: \n" + describeTasks(tasks);
     }
 }
@@ -0,0 +1,55 @@
+package duke.command;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import duke.DukeException;
+import duke.TaskList;
+import duke.utils.Occurrence;
+import duke.utils.Storage;
+
+/**
+ * Handles the "upcoming" command.
+ * @author Jason
+ */
+public class UpcomingCommand extends Command {
+    private static final int DEFAULT_COUNT = 5;
+    private String countInput;
+
+    public UpcomingCommand(String countInput) {
+        this.countInput = countInput;
+    }
+
+    /**
+     * Shows the next deadlines and events not done yet, starting from today.
+     * @param taskList TaskList to search.
+     * @param storage Storage of the task list, which is not modified.
+     * @return String message of running the "upcoming" command.
+     * @throws DukeException Count that is not a positive number.
+     */
+    @Override
+    public String run(TaskList taskList, Storage storage) throws DukeException {
+        int count = DEFAULT_COUNT;
+        if (countInput != null && !countInput.isBlank()) {
+            try {
+                count = Integer.parseInt(countInput.trim());
+            } catch (NumberFormatException e) {
+                count = 0;
+            }
+            if (count <= 0) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! Please enter a positive number of tasks to show!");
+            }
+        }
+
+        List<Occurrence> occurrences = taskList.upcoming(LocalDate.now(), count);
+        if (occurrences.isEmpty()) {
+            return "Hooray! You have no upcoming deadlines or events.";
+        }
+        return "Here are your upcoming tasks:\n" + listOccurrences(taskList, occurrences);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
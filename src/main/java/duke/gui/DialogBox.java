@@ -1,15 +1,14 @@
 package duke.gui;
 
 import java.io.IOException;
-import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.beans.property.StringProperty;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
-import javafx.scene.Node;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundFill;
@@ -31,6 +30,7 @@ public class DialogBox extends HBox {
             new BackgroundFill(Color.valueOf("#192734"), new CornerRadii(20), Insets.EMPTY));
     private static final Background BG_DUKE = new Background(
             new BackgroundFill(Color.valueOf("#22303C"), new CornerRadii(20), Insets.EMPTY));
+    private static final Map<Image, ImagePattern> IMAGE_PATTERNS = new ConcurrentHashMap<>();
     @FXML
     private TextFlow dialog;
     @FXML
@@ -39,11 +39,10 @@ public class DialogBox extends HBox {
     private Circle displayPicture;
 
     /**
-     * Constructs a DialogBox to contain the texts conversations.
-     * @param text Label containing the texts of the conversation.
-     * @param img Image of the user that sent that text.
+     * Constructs an empty DialogBox, to be filled through {@link #setSpeaker(Image, boolean)}
+     * and its text property. A DialogBox may be reused for many messages.
      */
-    private DialogBox(String text, Image img) {
+    public DialogBox() {
         try {
             FXMLLoader fxmlLoader = new FXMLLoader(MainWindow.class.getResource("/view/DialogBox.fxml"));
             fxmlLoader.setController(this);
@@ -52,43 +51,28 @@ public class DialogBox extends HBox {
         } catch (IOException e) {
             e.printStackTrace();
         }
-
-        this.text.setText(text);
-        displayPicture.setFill(new ImagePattern(img));
-    }
-
-    /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
-     */
-    private void flip() {
-        ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
-        Collections.reverse(tmp);
-        getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
     }
 
-    /**
-     * Creates a User Dialog box.
-     * @param text Text to be placed in dialog box.
-     * @param img User Profile picture.
-     * @return Dialog box object containing user's input.
-     */
-    public static DialogBox getUserDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        db.dialog.setBackground(BG_USER);
-        return db;
+    public StringProperty textProperty() {
+        return this.text.textProperty();
     }
 
     /**
-     * Creates a Duke Dialog box.
-     * @param text Text to be placed in dialog box.
-     * @param img Duke Profile picture.
-     * @return Dialog box object containing duke's response.
+     * Lays out the dialog box for the sender of the text. The user's text is on the right with
+     * the picture after it, while Duke's text is on the left with the picture before it.
+     * @param img Profile picture of the sender.
+     * @param isUser True if the text was sent by the user.
      */
-    public static DialogBox getDukeDialog(String text, Image img) {
-        DialogBox db = new DialogBox(text, img);
-        db.flip();
-        db.dialog.setBackground(BG_DUKE);
-        return db;
+    public void setSpeaker(Image img, boolean isUser) {
+        displayPicture.setFill(IMAGE_PATTERNS.computeIfAbsent(img, ImagePattern::new));
+        if (isUser) {
+            getChildren().setAll(dialog, displayPicture);
+            setAlignment(Pos.TOP_RIGHT);
+            dialog.setBackground(BG_USER);
+        } else {
+            getChildren().setAll(displayPicture, dialog);
+            setAlignment(Pos.TOP_LEFT);
+            dialog.setBackground(BG_DUKE);
+        }
     }
 }
@@ -2,36 +2,43 @@ package duke.gui;
 
 import duke.Duke;
 import javafx.application.Platform;
+import javafx.beans.property.StringProperty;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.ListView;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 
 /**
  * Controller for MainWindow. Provides the layout for the other controls.
  * @author Jason
  */
 public class MainWindow extends AnchorPane {
+    private static final String PENDING_RESPONSE = "...";
+    private static final int MAX_MESSAGES = 500;
+
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<Message> transcriptView;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
 
     private Duke duke;
+    private final Transcript transcript = new Transcript(MAX_MESSAGES);
 
     private Image userImage = new Image(this.getClass().getResourceAsStream("/images/DaUser.png"));
     private Image dukeImage = new Image(this.getClass().getResourceAsStream("/images/DaDuke.png"));
 
+    /**
+     * Shows the transcript in the list view. Only the visible messages get a dialog box,
+     * which is reused as the transcript is scrolled.
+     */
     @FXML
     public void initialize() {
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
+        transcriptView.setItems(transcript);
+        transcriptView.setCellFactory(view -> new TranscriptCell(view, userImage, dukeImage));
     }
 
     public void setDuke(Duke d) {
@@ -39,34 +46,82 @@ public class MainWindow extends AnchorPane {
     }
 
     /**
-     * Creates two dialog boxes, one echoing user input and the other containing Duke's reply and then appends them to
-     * the dialog container. Clears the user input after processing.
+     * Posts two messages, one echoing user input and the other containing Duke's reply.
+     * Clears the user input after processing.
+     * The command runs on a worker thread, and Duke's reply is filled in once it is ready.
+     * Replies given in several chunks are added to that one message as they arrive.
      */
     @FXML
     private void handleUserInput() {
         String input = userInput.getText();
-        String response = duke.getResponse(input);
 
         assert(userImage != null);
         assert(dukeImage != null);
-        dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(input, userImage),
-                DialogBox.getDukeDialog(response, dukeImage)
-        );
+        Message response = new Message(PENDING_RESPONSE, false);
+        post(new Message(input, true));
+        post(response);
         userInput.clear();
 
+        Reply reply = new Reply(response);
+        duke.getResponseAsync(input, chunk -> receive(reply, chunk));
+    }
+
+    /**
+     * Takes a chunk of a reply from the worker thread. Chunks that arrive before the window next shows
+     * the reply are added together, so a long reply is laid out again only a few times.
+     */
+    private void receive(Reply reply, String chunk) {
+        synchronized (reply) {
+            reply.unshown.append(chunk);
+            if (reply.isScheduled) {
+                return;
+            }
+            reply.isScheduled = true;
+        }
+        Platform.runLater(() -> show(reply));
+    }
+
+    private void show(Reply reply) {
+        String chunks;
+        synchronized (reply) {
+            chunks = reply.unshown.toString();
+            reply.unshown.setLength(0);
+            reply.isScheduled = false;
+        }
+        StringProperty text = reply.message.textProperty();
+        text.set(reply.isAnswered ? text.get() + chunks : chunks);
+        reply.isAnswered = true;
         if (duke.isExitCommand()) {
             Platform.exit();
         }
     }
 
     /**
-     * Creates a dialog box to show greeting message.
+     * Posts a message to show greeting message, which shows the progress of loading the save file until then.
+     * The window can be used in the meantime, and commands sent run once the save file is loaded.
      */
     public void greet() {
-        String greeting = duke.getGreeting();
-        dialogContainer.getChildren().addAll(
-                DialogBox.getDukeDialog(greeting, dukeImage)
-        );
+        Message greeting = new Message(PENDING_RESPONSE, false);
+        post(greeting);
+        duke.getGreetingAsync(text -> Platform.runLater(() -> greeting.textProperty().set(text)));
+    }
+
+    private void post(Message message) {
+        transcript.append(message);
+        transcriptView.scrollTo(transcript.size() - 1);
+    }
+
+    /**
+     * Holds the message of a reply along with the chunks of it not shown yet.
+     */
+    private static class Reply {
+        private final Message message;
+        private final StringBuilder unshown = new StringBuilder();
+        private boolean isScheduled;
+        private boolean isAnswered;
+
+        private Reply(Message message) {
+            this.message = message;
+        }
     }
 }
@@ -0,0 +1,31 @@
+package duke.gui;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+
+/**
+ * Represents a single message in the chat transcript.
+ * @author Jason
+ */
+public class Message {
+    private final StringProperty text;
+    private final boolean isUser;
+
+    /**
+     * Constructs a Message.
+     * @param text Text of the message, which may be replaced later.
+     * @param isUser True if the message was sent by the user, false if sent by Duke.
+     */
+    public Message(String text, boolean isUser) {
+        this.text = new SimpleStringProperty(text);
+        this.isUser = isUser;
+    }
+
+    public StringProperty textProperty() {
+        return this.text;
+    }
+
+    public boolean isUser() {
+        return this.isUser;
+    }
+}
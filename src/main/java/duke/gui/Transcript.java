@@ -0,0 +1,93 @@
+package duke.gui;
+
+import javafx.collections.ModifiableObservableListBase;
+
+/**
+ * Holds the most recent messages of the chat in a ring buffer of fixed capacity.
+ * Appending to a full transcript evicts the oldest message.
+ * @author Jason
+ */
+public class Transcript extends ModifiableObservableListBase<Message> {
+    private final Message[] messages;
+    private int head;
+    private int size;
+
+    /**
+     * Constructs an empty Transcript.
+     * @param capacity Maximum number of messages kept.
+     */
+    public Transcript(int capacity) {
+        assert(capacity > 0);
+        this.messages = new Message[capacity];
+    }
+
+    /**
+     * Adds a message to the end of the transcript, evicting the oldest message if it is full.
+     * @param message Message to be added.
+     */
+    public void append(Message message) {
+        if (size == messages.length) {
+            remove(0);
+        }
+        add(message);
+    }
+
+    @Override
+    public Message get(int index) {
+        checkIndex(index, size);
+        return messages[slot(index)];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    protected void doAdd(int index, Message message) {
+        checkIndex(index, size + 1);
+        if (size == messages.length) {
+            throw new IllegalStateException("Transcript is full");
+        }
+        for (int i = size; i > index; i--) {
+            messages[slot(i)] = messages[slot(i - 1)];
+        }
+        messages[slot(index)] = message;
+        size++;
+    }
+
+    @Override
+    protected Message doSet(int index, Message message) {
+        checkIndex(index, size);
+        Message previous = messages[slot(index)];
+        messages[slot(index)] = message;
+        return previous;
+    }
+
+    @Override
+    protected Message doRemove(int index) {
+        checkIndex(index, size);
+        Message removed = messages[slot(index)];
+        if (index == 0) {
+            messages[head] = null;
+            head = slot(1);
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                messages[slot(i)] = messages[slot(i + 1)];
+            }
+            messages[slot(size - 1)] = null;
+        }
+        size--;
+        return removed;
+    }
+
+    private int slot(int index) {
+        return (head + index) % messages.length;
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+}
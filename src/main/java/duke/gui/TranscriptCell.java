@@ -0,0 +1,45 @@
+package duke.gui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Shows a message of the transcript, reusing a single DialogBox for every message it is given.
+ * @author Jason
+ */
+public class TranscriptCell extends ListCell<Message> {
+    private static final double SCROLL_BAR_WIDTH = 20.0;
+
+    private final DialogBox dialogBox = new DialogBox();
+    private final Image userImage;
+    private final Image dukeImage;
+
+    /**
+     * Constructs a TranscriptCell.
+     * @param listView ListView the cell is shown in.
+     * @param userImage User Profile picture.
+     * @param dukeImage Duke Profile picture.
+     */
+    public TranscriptCell(ListView<Message> listView, Image userImage, Image dukeImage) {
+        this.userImage = userImage;
+        this.dukeImage = dukeImage;
+        dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_WIDTH));
+        setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+    }
+
+    @Override
+    protected void updateItem(Message message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        dialogBox.textProperty().unbind();
+
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        dialogBox.textProperty().bind(message.textProperty());
+        dialogBox.setSpeaker(message.isUser() ? userImage : dukeImage, message.isUser());
+        setGraphic(dialogBox);
+    }
+}
@@ -48,6 +48,16 @@ public class Ui {
         return message += UI_GREETING;
     }
 
+    /**
+     * Provides the message shown while the save file is being loaded.
+     * @param progress Share of the save file loaded so far, from 0 to 1.
+     * @return Loading message.
+     */
+    public static String loading(double progress) {
+        return "Previous save file located, loading contents of save file... "
+                + Math.round(progress * 100) + "%\n";
+    }
+
     /**
      * Prints the goodbye message to the console.
      * @return Goodbye message to exit the application.
@@ -1,5 +1,7 @@
 package duke.task;
 
+import java.time.LocalDate;
+
 import duke.Date;
 
 /**
@@ -19,7 +21,12 @@ public class Deadline extends Task {
 
     @Override
     public String toString() {
-        return "[D]" + super.toString() + " (by: " + this.date + ")";
+        return "[D]" + super.toString() + " (by: " + getDateText() + ")";
+    }
+
+    @Override
+    public String toString(LocalDate from) {
+        return "[D]" + super.toString() + " (by: " + getDateText(from) + ")";
     }
 
     /**
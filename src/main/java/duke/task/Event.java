@@ -1,5 +1,7 @@
 package duke.task;
 
+import java.time.LocalDate;
+
 import duke.Date;
 
 /**
@@ -19,7 +21,12 @@ public class Event extends Task {
 
     @Override
     public String toString() {
-        return "[E]" + super.toString() + " (at: " + this.date + ")";
+        return "[E]" + super.toString() + " (at: " + getDateText() + ")";
+    }
+
+    @Override
+    public String toString(LocalDate from) {
+        return "[E]" + super.toString() + " (at: " + getDateText(from) + ")";
     }
 
     /**
@@ -0,0 +1,89 @@
+package duke.task;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Describes how often a recurring task repeats, e.g. every week or every 2 months.
+ * Occurrences are never stored, but found from the first date of the task in constant time when they are
+ * asked for, so those within a window of days are generated one after another as they are needed.
+ * @author Jason
+ */
+public class Recurrence {
+    private final ChronoUnit unit;
+    private final int interval;
+
+    /**
+     * Constructs a Recurrence.
+     * @param unit Unit of the time between occurrences, one of days, weeks, months or years.
+     * @param interval Number of units between occurrences, from 1.
+     */
+    public Recurrence(ChronoUnit unit, int interval) {
+        assert unit == ChronoUnit.DAYS || unit == ChronoUnit.WEEKS || unit == ChronoUnit.MONTHS
+                || unit == ChronoUnit.YEARS;
+        assert interval > 0;
+        this.unit = unit;
+        this.interval = interval;
+    }
+
+    public ChronoUnit getUnit() {
+        return this.unit;
+    }
+
+    public int getInterval() {
+        return this.interval;
+    }
+
+    /**
+     * Finds the first occurrence on or after a day.
+     * Months and years are counted from the first date, so a task on the 31st falls on the last day
+     * of shorter months without moving off the 31st for the months after.
+     * @param start Date of the first occurrence.
+     * @param from Earliest day wanted.
+     * @return Date of the occurrence.
+     */
+    public LocalDate nextOccurrence(LocalDate start, LocalDate from) {
+        if (!from.isAfter(start)) {
+            return start;
+        }
+        long count = unit.between(start, from) / interval;
+        LocalDate date = start.plus(count * interval, unit);
+        while (date.isBefore(from)) {
+            count++;
+            date = start.plus(count * interval, unit);
+        }
+        return date;
+    }
+
+    /**
+     * Finds the occurrence that follows another.
+     * @param start Date of the first occurrence.
+     * @param date Date of an occurrence.
+     * @return Date of the next occurrence after it.
+     */
+    public LocalDate occurrenceAfter(LocalDate start, LocalDate date) {
+        return nextOccurrence(start, date.plusDays(1));
+    }
+
+    /**
+     * Writes the time between occurrences as in the save file, e.g. "week" or "2 months".
+     */
+    @Override
+    public String toString() {
+        String name;
+        switch (unit) {
+        case DAYS:
+            name = "day";
+            break;
+        case WEEKS:
+            name = "week";
+            break;
+        case MONTHS:
+            name = "month";
+            break;
+        default:
+            name = "year";
+        }
+        return interval == 1 ? name : interval + " " + name + "s";
+    }
+}
@@ -0,0 +1,71 @@
+package duke.task;
+
+import java.time.LocalDate;
+
+import duke.Date;
+
+/**
+ * Creates an Event that repeats, e.g. every week, from its first date.
+ * Only the first date and the rule are kept, and each occurrence is found when it is needed.
+ * Marking it as done moves the first date on past the occurrence that is done, so the rest of the series
+ * stays to be done.
+ * @author Jason
+ */
+public class RecurringEvent extends Event {
+    private final Recurrence recurrence;
+
+    /**
+     * Constructs a RecurringEvent object.
+     * @param description Description of the Event object.
+     * @param at Date which the first occurrence is on.
+     * @param recurrence How often the Event object repeats.
+     */
+    public RecurringEvent(String description, Date at, Recurrence recurrence) {
+        super(description, at);
+        this.recurrence = recurrence;
+    }
+
+    @Override
+    public Date getNextDate(LocalDate from) {
+        LocalDate next = recurrence.nextOccurrence(this.date.getFormattedDate(), from);
+        return next.equals(this.date.getFormattedDate()) ? this.date : Date.of(next);
+    }
+
+    @Override
+    public Recurrence getRecurrence() {
+        return this.recurrence;
+    }
+
+    /**
+     * Moves the task on to the occurrence after the one on or after a day, which stays to be done.
+     * Months and years are then counted from the new date.
+     */
+    @Override
+    public Task completedFrom(LocalDate from) {
+        LocalDate start = this.date.getFormattedDate();
+        LocalDate next = recurrence.occurrenceAfter(start, recurrence.nextOccurrence(start, from));
+        return new RecurringEvent(this.description, Date.of(next), recurrence);
+    }
+
+    /**
+     * Shows the next occurrence from today, followed by how often the task repeats.
+     */
+    @Override
+    protected String getDateText() {
+        return getDateText(LocalDate.now());
+    }
+
+    @Override
+    protected String getDateText(LocalDate from) {
+        return getNextDate(from) + ", every " + recurrence;
+    }
+
+    /**
+     * Writes this recurring Event task into the save file format, with the first date and the rule.
+     * @return String to be stored in save file.
+     */
+    @Override
+    public String saveData() {
+        return super.saveData() + " | " + recurrence;
+    }
+}
@@ -1,12 +1,14 @@
 package duke.task;
 
+import java.time.LocalDate;
+
 import duke.Date;
 
 /**
  * Represents a skeleton for a Task Class.
  * @author Jason
  */
-public abstract class Task {
+public abstract class Task implements Cloneable {
     protected String description;
     protected boolean isDone;
     protected Date date;
@@ -38,6 +40,14 @@ public abstract class Task {
         return this.description;
     }
 
+    /**
+     * Checks if current task is done.
+     * @return True if task has been marked as done.
+     */
+    public boolean isDone() {
+        return this.isDone;
+    }
+
     /**
      * Marks current task as done.
      */
@@ -52,11 +62,45 @@ public abstract class Task {
         this.isDone = false;
     }
 
+    /**
+     * Gives the task as it is once its occurrence on or after a day is done.
+     * A task that happens once is marked as done, while a recurring task moves on to its occurrence after that one.
+     * The task itself is left as it is.
+     * @param from Earliest day of the occurrence that is done.
+     * @return Copy of the task after the occurrence is done.
+     */
+    public Task completedFrom(LocalDate from) {
+        Task task = copy();
+        task.markAsDone();
+        return task;
+    }
+
+    /**
+     * Gives a copy of the task, so marking one of them does not change the other.
+     * @return Copy of the task.
+     */
+    protected Task copy() {
+        try {
+            return (Task) super.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new AssertionError(e);
+        }
+    }
+
     @Override
     public String toString() {
         return "[" + this.getStatusIcon() + "] " + this.description;
     }
 
+    /**
+     * Writes the task as it is shown in the list, at its occurrence on or after a day.
+     * @param from Earliest day of the occurrence shown.
+     * @return String of the task.
+     */
+    public String toString(LocalDate from) {
+        return toString();
+    }
+
     /**
      * Writes this event task into the save file format.
      * @return String to be stored in save file.
@@ -71,6 +115,48 @@ public abstract class Task {
         return this.date;
     }
 
+    /**
+     * Gives the date of the task on or after a day, which for a task that happens once is its only date.
+     * @param from Earliest day wanted.
+     * @return Date of the next occurrence of a recurring task, or the date of any other task.
+     */
+    public Date getNextDate(LocalDate from) {
+        return this.date;
+    }
+
+    /**
+     * Gives how often the task repeats.
+     * @return Rule of a recurring task, or null for a task that happens once.
+     */
+    public Recurrence getRecurrence() {
+        return null;
+    }
+
+    /**
+     * Writes the date of the task as it is shown in the list.
+     * @return Text of the date.
+     */
+    protected String getDateText() {
+        return String.valueOf(this.date);
+    }
+
+    /**
+     * Writes the date of the task as it is shown in the list, at its occurrence on or after a day.
+     * @param from Earliest day of the occurrence.
+     * @return Text of the date.
+     */
+    protected String getDateText(LocalDate from) {
+        return getDateText();
+    }
+
+    /**
+     * Checks if the task has a date of its own.
+     * @return True if the task has a date.
+     */
+    public boolean hasDate() {
+        return true;
+    }
+
     /**
      * Compares 2 Tasks based on their dates.
      * @param   anotherTask - The task to be compared.
@@ -22,6 +22,11 @@ public class Todo extends Task {
         return "[T]" + super.toString();
     }
 
+    @Override
+    public boolean hasDate() {
+        return false;
+    }
+
     /**
      * Writes this to do task into the save file format.
      * @return String to be stored in save file.
@@ -0,0 +1,410 @@
+package duke.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.DoubleConsumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import duke.Date;
+import duke.DukeException;
+import duke.task.Deadline;
+import duke.task.Event;
+import duke.task.Recurrence;
+import duke.task.RecurringDeadline;
+import duke.task.RecurringEvent;
+import duke.task.Task;
+import duke.task.Todo;
+
+/**
+ * Reads and writes snapshots of the task list in a compact binary format.
+ * A snapshot starts with a magic header, a format version, the journal sequence number
+ * it covers and the number of tasks. Each task is then stored as a type byte with the
+ * "marked" status in its top bit, the date as an epoch day for Deadlines and Events,
+ * and the length-prefixed UTF-8 description. Snapshots of version 2 end with the CRC32
+ * of everything before it, so a snapshot that was damaged on disk is detected on load.
+ * Version 3 adds recurring Deadlines and Events, flagged in the type byte and followed after
+ * the date by their rule, as the number of units between occurrences and a code for the unit.
+ * @author Jason
+ */
+public class BinaryFormat {
+    static final int HEADER_LENGTH = 17;
+    static final byte TYPE_TODO = 0;
+    static final byte TYPE_DEADLINE = 1;
+    static final byte TYPE_EVENT = 2;
+    static final byte DONE_FLAG = (byte) 0x80;
+    static final byte RECURRING_FLAG = 0x40;
+
+    private static final byte TYPE_MASK = 0x0F;
+    private static final int UNIT_BITS = 3;
+    private static final ChronoUnit[] UNITS = {null, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS,
+        ChronoUnit.YEARS};
+    private static final byte[] MAGIC = {'D', 'U', 'K', 'E'};
+    private static final byte VERSION_WITHOUT_CHECKSUM = 1;
+    private static final byte VERSION = 3;
+    private static final int CHECKSUM_LENGTH = Integer.BYTES;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 64 * 1024;
+    private static final int PARALLEL_WRITE_THRESHOLD = 64 * 1024;
+    private static final int ENCODE_RANGE_LENGTH = 16 * 1024;
+    private static final String UNKNOWN_FORMAT_ERROR = "\uD83D\uDE14 OOPS!!! The save file is of an unknown format!";
+    private static final String CORRUPTED_ERROR = "\uD83D\uDE14 OOPS!!! The save file is corrupted, "
+            + "please delete the file and retry!";
+    private static final Date TODO_DATE = Date.of(LocalDate.of(9999, 12, 31));
+
+    /**
+     * Checks if a file starts with the binary snapshot header.
+     * @param file File to be checked.
+     * @return True if the file is a binary snapshot.
+     */
+    public static boolean isBinary(File file) throws IOException {
+        try (InputStream in = new FileInputStream(file)) {
+            return Arrays.equals(in.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Reads a binary snapshot into the list.
+     * @param file Snapshot file.
+     * @param list List to add the tasks to.
+     * @return Journal sequence number covered by the snapshot.
+     * @throws DukeException Snapshot is corrupted or of an unknown version.
+     */
+    public static long read(File file, List<Task> list) throws DukeException, IOException {
+        return read(file, list, share -> { });
+    }
+
+    /**
+     * Reads a binary snapshot into the list, reporting how much of it has been read as it goes.
+     * @param file Snapshot file.
+     * @param list List to add the tasks to.
+     * @param progress Receives the share of the tasks read so far, from 0 to 1.
+     * @return Journal sequence number covered by the snapshot.
+     * @throws DukeException Snapshot is corrupted or of an unknown version.
+     */
+    public static long read(File file, List<Task> list, DoubleConsumer progress) throws DukeException, IOException {
+        verifyChecksum(file);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            if (!Arrays.equals(magic, MAGIC) || !isKnownVersion(in.readByte())) {
+                throw new DukeException(UNKNOWN_FORMAT_ERROR);
+            }
+            long seq = in.readLong();
+            int count = in.readInt();
+
+            for (int i = 0; i < count; i++) {
+                byte flags = in.readByte();
+                int epochDay = hasDate(flags) ? in.readInt() : 0;
+                int rule = isRecurring(flags) ? in.readInt() : 0;
+                byte[] description = new byte[in.readInt()];
+                in.readFully(description);
+                list.add(decode(flags, epochDay, rule, new String(description, StandardCharsets.UTF_8)));
+                if ((i + 1) % PROGRESS_INTERVAL == 0) {
+                    progress.accept((double) (i + 1) / count);
+                }
+            }
+            return seq;
+        } catch (EOFException | NegativeArraySizeException e) {
+            throw new DukeException(CORRUPTED_ERROR);
+        }
+    }
+
+    /**
+     * Checks the CRC32 at the end of a snapshot against its contents, reading through the file once.
+     * Snapshots written before checksums were added are accepted as they are.
+     * @param file Snapshot file.
+     * @throws DukeException Snapshot is damaged, cut short or of an unknown format.
+     */
+    public static void verifyChecksum(File file) throws DukeException, IOException {
+        long length = file.length();
+        try (InputStream in = new FileInputStream(file)) {
+            byte[] header = in.readNBytes(HEADER_LENGTH);
+            if (header.length < HEADER_LENGTH || !Arrays.equals(Arrays.copyOf(header, MAGIC.length), MAGIC)
+                    || !isKnownVersion(header[MAGIC.length])) {
+                throw new DukeException(UNKNOWN_FORMAT_ERROR);
+            }
+            if (header[MAGIC.length] == VERSION_WITHOUT_CHECKSUM) {
+                return;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(header);
+            long remaining = length - HEADER_LENGTH - CHECKSUM_LENGTH;
+            byte[] chunk = new byte[BUFFER_SIZE];
+            while (remaining > 0) {
+                int read = in.read(chunk, 0, (int) Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    throw new DukeException(CORRUPTED_ERROR);
+                }
+                crc.update(chunk, 0, read);
+                remaining -= read;
+            }
+            byte[] trailer = in.readNBytes(CHECKSUM_LENGTH);
+            if (remaining < 0 || trailer.length < CHECKSUM_LENGTH
+                    || ByteBuffer.wrap(trailer).getInt() != (int) crc.getValue()) {
+                throw new DukeException(CORRUPTED_ERROR);
+            }
+        }
+    }
+
+    /**
+     * Checks the CRC32 at the end of a snapshot held in a buffer against its contents.
+     * @param buffer Buffer holding the whole snapshot.
+     * @throws DukeException Snapshot is damaged or cut short.
+     */
+    static void verifyChecksum(ByteBuffer buffer) throws DukeException {
+        if (buffer.get(MAGIC.length) == VERSION_WITHOUT_CHECKSUM) {
+            return;
+        }
+        int end = buffer.limit() - CHECKSUM_LENGTH;
+        if (end < HEADER_LENGTH) {
+            throw new DukeException(CORRUPTED_ERROR);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(end));
+        if (buffer.getInt(end) != (int) crc.getValue()) {
+            throw new DukeException(CORRUPTED_ERROR);
+        }
+    }
+
+    /**
+     * Writes the list as a binary snapshot ending with its CRC32, and forces it to the disk
+     * so it is complete before it replaces an older snapshot.
+     * Long lists are encoded on many threads, which must be able to read the list at the same time.
+     * @param file File to write to, replacing its contents.
+     * @param list Tasks to be written.
+     * @param seq Journal sequence number covered by the snapshot.
+     */
+    public static void write(File file, List<Task> list, long seq) throws IOException {
+        try (FileOutputStream fileOut = new FileOutputStream(file)) {
+            CheckedOutputStream checked = new CheckedOutputStream(fileOut, new CRC32());
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(checked, BUFFER_SIZE));
+            out.write(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seq);
+            out.writeInt(list.size());
+
+            if (list.size() >= PARALLEL_WRITE_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+                writeInParallel(out, list);
+            } else {
+                for (Task task : list) {
+                    encode(out, task);
+                }
+            }
+            out.flush();
+
+            fileOut.write(ByteBuffer.allocate(CHECKSUM_LENGTH).putInt((int) checked.getChecksum().getValue()).array());
+            fileOut.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Encodes ranges of the list on the common fork-join pool, a few ranges ahead of the one being written,
+     * and writes them in order, so the snapshot is the same as one encoded on a single thread.
+     */
+    private static void writeInParallel(DataOutputStream out, List<Task> list) throws IOException {
+        int size = list.size();
+        int window = ForkJoinPool.getCommonPoolParallelism() * 2;
+        Deque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+        int next = 0;
+        while (next < size || !pending.isEmpty()) {
+            while (next < size && pending.size() < window) {
+                int start = next;
+                int end = Math.min(start + ENCODE_RANGE_LENGTH, size);
+                pending.add(ForkJoinPool.commonPool().submit(() -> encode(list, start, end)));
+                next = end;
+            }
+            out.write(pending.remove().join());
+        }
+    }
+
+    private static byte[] encode(List<Task> list, int start, int end) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            for (int i = start; i < end; i++) {
+                encode(out, list.get(i));
+            }
+        } catch (IOException e) {
+            // Writing to memory does not fail.
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void encode(DataOutputStream out, Task task) throws IOException {
+        byte flags = flagsOf(task);
+        out.writeByte(flags);
+        if (hasDate(flags)) {
+            out.writeInt((int) task.getDate().getFormattedDate().toEpochDay());
+        }
+        if (isRecurring(flags)) {
+            out.writeInt(ruleOf(task));
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(description.length);
+        out.write(description);
+    }
+
+    /**
+     * Reads the header of a snapshot held in a buffer.
+     * @param buffer Buffer holding the whole snapshot.
+     * @return Number of tasks in the snapshot.
+     * @throws DukeException Snapshot is of an unknown format.
+     */
+    static int readCount(ByteBuffer buffer) throws DukeException {
+        byte[] magic = new byte[MAGIC.length];
+        buffer.duplicate().get(magic);
+        if (buffer.limit() < HEADER_LENGTH || !Arrays.equals(magic, MAGIC)
+                || !isKnownVersion(buffer.get(MAGIC.length))) {
+            throw new DukeException(UNKNOWN_FORMAT_ERROR);
+        }
+        return buffer.getInt(HEADER_LENGTH - Integer.BYTES);
+    }
+
+    /**
+     * Reads the journal sequence number covered by a snapshot held in a buffer.
+     */
+    static long readSequence(ByteBuffer buffer) {
+        return buffer.getLong(MAGIC.length + 1);
+    }
+
+    /**
+     * Gives the offset of the record following the one at offset.
+     */
+    static int nextRecord(ByteBuffer buffer, int offset) {
+        byte flags = buffer.get(offset);
+        int descriptionOffset = offset + 1 + (hasDate(flags) ? Integer.BYTES : 0)
+                + (isRecurring(flags) ? Integer.BYTES : 0);
+        return descriptionOffset + Integer.BYTES + buffer.getInt(descriptionOffset);
+    }
+
+    /**
+     * Decodes the record at offset of a buffer.
+     */
+    static Task decode(ByteBuffer buffer, int offset) throws DukeException {
+        byte flags = buffer.get(offset);
+        int descriptionOffset = offset + 1;
+        int epochDay = 0;
+        if (hasDate(flags)) {
+            epochDay = buffer.getInt(descriptionOffset);
+            descriptionOffset += Integer.BYTES;
+        }
+        int rule = 0;
+        if (isRecurring(flags)) {
+            rule = buffer.getInt(descriptionOffset);
+            descriptionOffset += Integer.BYTES;
+        }
+        byte[] description = new byte[buffer.getInt(descriptionOffset)];
+        ByteBuffer view = buffer.duplicate();
+        view.position(descriptionOffset + Integer.BYTES);
+        view.get(description);
+        return decode(flags, epochDay, rule, new String(description, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates the task described by the fields of a record.
+     */
+    static Task decode(byte flags, int epochDay, int rule, String description) throws DukeException {
+        Recurrence recurrence = isRecurring(flags) ? recurrenceOf(rule) : null;
+        Task task;
+        switch (flags & TYPE_MASK) {
+        case TYPE_TODO:
+            if (recurrence != null) {
+                throw new DukeException(CORRUPTED_ERROR);
+            }
+            task = new Todo(description, TODO_DATE);
+            break;
+        case TYPE_DEADLINE:
+            task = recurrence == null
+                    ? new Deadline(description, Date.ofEpochDay(epochDay))
+                    : new RecurringDeadline(description, Date.ofEpochDay(epochDay), recurrence);
+            break;
+        case TYPE_EVENT:
+            task = recurrence == null
+                    ? new Event(description, Date.ofEpochDay(epochDay))
+                    : new RecurringEvent(description, Date.ofEpochDay(epochDay), recurrence);
+            break;
+        default:
+            throw new DukeException(CORRUPTED_ERROR);
+        }
+
+        if ((flags & DONE_FLAG) != 0) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    private static boolean isKnownVersion(byte version) {
+        return version >= VERSION_WITHOUT_CHECKSUM && version <= VERSION;
+    }
+
+    static byte flagsOf(Task task) {
+        byte type = task instanceof Deadline ? TYPE_DEADLINE : task instanceof Event ? TYPE_EVENT : TYPE_TODO;
+        if (task.getRecurrence() != null) {
+            type |= RECURRING_FLAG;
+        }
+        return task.isDone() ? (byte) (type | DONE_FLAG) : type;
+    }
+
+    /**
+     * Gives the rule of a recurring task as a number, with the unit in the lowest bits.
+     * @return Number of the rule, or 0 if the task happens once.
+     */
+    static int ruleOf(Task task) {
+        Recurrence recurrence = task.getRecurrence();
+        if (recurrence == null) {
+            return 0;
+        }
+        return recurrence.getInterval() << UNIT_BITS | Arrays.asList(UNITS).indexOf(recurrence.getUnit());
+    }
+
+    /**
+     * Gives a copy of a task, so marking one of them does not change the other.
+     */
+    static Task copy(Task task) {
+        try {
+            return decode(flagsOf(task), (int) task.getDate().getFormattedDate().toEpochDay(), ruleOf(task),
+                    task.getDescription());
+        } catch (DukeException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    static boolean hasDate(byte flags) {
+        return (flags & TYPE_MASK) != TYPE_TODO;
+    }
+
+    static boolean isRecurring(byte flags) {
+        return (flags & RECURRING_FLAG) != 0;
+    }
+
+    private static Recurrence recurrenceOf(int rule) throws DukeException {
+        int unit = rule & (1 << UNIT_BITS) - 1;
+        int interval = rule >>> UNIT_BITS;
+        if (unit == 0 || unit >= UNITS.length || interval < 1 || interval > Parser.MAX_RECURRENCE_INTERVAL) {
+            throw new DukeException(CORRUPTED_ERROR);
+        }
+        return new Recurrence(UNITS[unit], interval);
+    }
+}
@@ -0,0 +1,81 @@
+package duke.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import duke.DukeException;
+
+/**
+ * Finds command names by any unambiguous prefix of them, e.g. "dea" for "deadline".
+ * Command names are made of lowercase letters.
+ * @author Jason
+ */
+class CommandTrie {
+    private final Node root = new Node();
+
+    /**
+     * Constructs a CommandTrie of command names.
+     */
+    CommandTrie(String... names) {
+        for (String name : names) {
+            add(name);
+        }
+    }
+
+    private void add(String name) {
+        Node node = root;
+        for (int i = 0; i < name.length(); i++) {
+            int letter = name.charAt(i) - 'a';
+            if (node.children[letter] == null) {
+                node.children[letter] = new Node();
+            }
+            node = node.children[letter];
+            node.completionCount++;
+            node.completion = node.completion == null ? name : node.completion;
+        }
+        node.name = name;
+    }
+
+    /**
+     * Finds the command that a word of the input names or abbreviates.
+     * A full command name is chosen over the longer names it is a prefix of.
+     * @param word Tokenizer at the word to be matched.
+     * @return Name of the command, or null if the word matches none.
+     * @throws DukeException Word is the start of several command names.
+     */
+    String find(Tokenizer word) throws DukeException {
+        Node node = root;
+        for (int i = word.getWordStart(); i < word.getWordEnd() && node != null; i++) {
+            int letter = word.charAt(i) - 'a';
+            node = letter >= 0 && letter < node.children.length ? node.children[letter] : null;
+        }
+        if (node == null || node == root) {
+            return null;
+        } else if (node.name != null || node.completionCount == 1) {
+            return node.name != null ? node.name : node.completion;
+        }
+
+        List<String> names = new ArrayList<>();
+        collect(node, names);
+        throw new DukeException("\uD83D\uDE14 OOPS!!! \"" + word.substring(word.getWordStart(), word.getWordEnd())
+                + "\" could be any of " + String.join(", ", names) + ". Please type more of the command.");
+    }
+
+    private static void collect(Node node, List<String> names) {
+        if (node.name != null) {
+            names.add(node.name);
+        }
+        for (Node child : node.children) {
+            if (child != null) {
+                collect(child, names);
+            }
+        }
+    }
+
+    private static class Node {
+        private final Node[] children = new Node[26];
+        private String name;
+        private String completion;
+        private int completionCount;
+    }
+}
@@ -0,0 +1,296 @@
+package duke.utils;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+import duke.DukeException;
+import duke.task.Task;
+
+/**
+ * Provides a list of tasks stored as parallel arrays of primitives instead of Task objects.
+ * Each task takes a flags byte, holding its type and "marked" status as in the binary save file,
+ * an epoch day and the id of its description in a pool of distinct descriptions.
+ * The rules of recurring tasks are kept in one more array, which is only made once such a task is added.
+ * Tasks are created only when they are read, so changes to a task must be written back with
+ * {@link #set(int, Task)}.
+ * Snapshots share the arrays with the list, which copies them before its next change.
+ * @author Jason
+ */
+public class CompactTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private StringPool descriptions = new StringPool();
+    private byte[] flags;
+    private int[] epochDays;
+    private int[] descriptionIds;
+    private int[] rules;
+    private int size;
+    private boolean isShared;
+
+    /**
+     * Constructs an empty CompactTaskList.
+     */
+    public CompactTaskList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty CompactTaskList with room for a number of tasks.
+     * @param capacity Number of tasks the list can hold before growing.
+     */
+    public CompactTaskList(int capacity) {
+        int length = Math.max(capacity, 1);
+        this.flags = new byte[length];
+        this.epochDays = new int[length];
+        this.descriptionIds = new int[length];
+    }
+
+    private CompactTaskList(CompactTaskList list) {
+        this.descriptions = list.descriptions;
+        this.flags = list.flags;
+        this.epochDays = list.epochDays;
+        this.descriptionIds = list.descriptionIds;
+        this.rules = list.rules;
+        this.size = list.size;
+    }
+
+    /**
+     * Gives a view of the tasks as they are now, which later changes to the list do not affect.
+     * The view takes constant time, as the arrays are only copied when the list next changes.
+     * @return Unmodifiable list of the tasks.
+     */
+    public List<Task> snapshot() {
+        isShared = true;
+        return Collections.unmodifiableList(new CompactTaskList(this));
+    }
+
+    /**
+     * Gives a copy of the list in constant time, which shares the arrays with the list until either changes.
+     * @return Copy of the list.
+     */
+    public CompactTaskList copy() {
+        isShared = true;
+        CompactTaskList copy = new CompactTaskList(this);
+        copy.isShared = true;
+        return copy;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        try {
+            return BinaryFormat.decode(flags[index], epochDays[index], rules == null ? 0 : rules[index],
+                    descriptions.get(descriptionIds[index]));
+        } catch (DukeException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    @Override
+    public Task set(int index, Task task) {
+        unshare();
+        Task previous = get(index);
+        int previousDescription = descriptionIds[index];
+        store(index, task);
+        descriptions.release(previousDescription);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        unshare();
+        ensureCapacity(size + 1);
+        System.arraycopy(flags, index, flags, index + 1, size - index);
+        System.arraycopy(epochDays, index, epochDays, index + 1, size - index);
+        System.arraycopy(descriptionIds, index, descriptionIds, index + 1, size - index);
+        if (rules != null) {
+            System.arraycopy(rules, index, rules, index + 1, size - index);
+        }
+        store(index, task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task task = get(index);
+        unshare();
+        descriptions.release(descriptionIds[index]);
+        System.arraycopy(flags, index + 1, flags, index, size - index - 1);
+        System.arraycopy(epochDays, index + 1, epochDays, index, size - index - 1);
+        System.arraycopy(descriptionIds, index + 1, descriptionIds, index, size - index - 1);
+        if (rules != null) {
+            System.arraycopy(rules, index + 1, rules, index, size - index - 1);
+        }
+        size--;
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Adds every task of another compact list to the end of this list, in order, without decoding them.
+     * The descriptions of the other list are added to the pool once each, however many tasks share them.
+     * @param other List whose tasks are added.
+     */
+    public void append(CompactTaskList other) {
+        unshare();
+        int otherSize = other.size;
+        ensureCapacity(size + otherSize);
+        int[] poolIds = new int[other.descriptions.idBound()];
+        Arrays.fill(poolIds, -1);
+        for (int i = 0; i < otherSize; i++) {
+            int otherId = other.descriptionIds[i];
+            if (poolIds[otherId] < 0) {
+                poolIds[otherId] = descriptions.intern(other.descriptions.bytesOf(otherId),
+                        other.descriptions.referencesOf(otherId));
+            }
+            descriptionIds[size + i] = poolIds[otherId];
+        }
+        System.arraycopy(other.flags, 0, flags, size, otherSize);
+        System.arraycopy(other.epochDays, 0, epochDays, size, otherSize);
+        if (other.rules != null) {
+            allocateRules();
+            System.arraycopy(other.rules, 0, rules, size, otherSize);
+        } else if (rules != null) {
+            Arrays.fill(rules, size, size + otherSize, 0);
+        }
+        size += otherSize;
+        modCount++;
+    }
+
+    /**
+     * Removes the tasks at many indexes, moving the remaining tasks up in a single pass.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     */
+    public void removeAll(int[] indexes) {
+        for (int index : indexes) {
+            checkIndex(index, size);
+        }
+        unshare();
+        for (int index : indexes) {
+            descriptions.release(descriptionIds[index]);
+        }
+        int kept = indexes.length == 0 ? size : indexes[0];
+        int next = 0;
+        for (int i = kept; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                continue;
+            }
+            flags[kept] = flags[i];
+            epochDays[kept] = epochDays[i];
+            descriptionIds[kept] = descriptionIds[i];
+            if (rules != null) {
+                rules[kept] = rules[i];
+            }
+            kept++;
+        }
+        size = kept;
+        modCount++;
+    }
+
+    /**
+     * Inserts tasks at many indexes, moving the tasks already in the list down in a single pass.
+     * @param indexes Distinct indexes the tasks end up at, in ascending order.
+     * @param tasks Tasks to insert, in the same order.
+     */
+    public void insertAll(int[] indexes, List<Task> tasks) {
+        int count = indexes.length;
+        if (count == 0) {
+            return;
+        }
+        checkIndex(indexes[count - 1], size + count);
+        unshare();
+        ensureCapacity(size + count);
+        int next = count - 1;
+        int from = size - 1;
+        for (int i = size + count - 1; next >= 0; i--) {
+            if (indexes[next] == i) {
+                store(i, tasks.get(next--));
+                continue;
+            }
+            flags[i] = flags[from];
+            epochDays[i] = epochDays[from];
+            descriptionIds[i] = descriptionIds[from];
+            if (rules != null) {
+                rules[i] = rules[from];
+            }
+            from--;
+        }
+        size += count;
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        unshare();
+        descriptions = new StringPool();
+        rules = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Copies the arrays and the pool shared with a snapshot, so the snapshot keeps its tasks.
+     */
+    private void unshare() {
+        if (!isShared) {
+            return;
+        }
+        descriptions = descriptions.copy();
+        flags = flags.clone();
+        epochDays = epochDays.clone();
+        descriptionIds = descriptionIds.clone();
+        if (rules != null) {
+            rules = rules.clone();
+        }
+        isShared = false;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= flags.length) {
+            return;
+        }
+        int length = Math.max(flags.length * 2, capacity);
+        flags = Arrays.copyOf(flags, length);
+        epochDays = Arrays.copyOf(epochDays, length);
+        descriptionIds = Arrays.copyOf(descriptionIds, length);
+        if (rules != null) {
+            rules = Arrays.copyOf(rules, length);
+        }
+    }
+
+    private void allocateRules() {
+        if (rules == null) {
+            rules = new int[flags.length];
+        }
+    }
+
+    private void store(int index, Task task) {
+        flags[index] = BinaryFormat.flagsOf(task);
+        epochDays[index] = (int) task.getDate().getFormattedDate().toEpochDay();
+        descriptionIds[index] = descriptions.intern(task.getDescription());
+        int rule = BinaryFormat.ruleOf(task);
+        if (rule != 0) {
+            allocateRules();
+        }
+        if (rules != null) {
+            rules[index] = rule;
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package duke.utils;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Parses and formats the dates of tasks with shared formatters.
+ * The usual forms of dates are parsed by hand into epoch days, without going through a formatter
+ * or creating a LocalDate. Anything else falls back to the formatters, which give the same results
+ * and errors as before. Month names are always in English, whatever the default locale, so dates are
+ * written and read back the same way on every machine.
+ * @author Jason
+ */
+public class DateFormat {
+    /** Format of the dates entered by the user, e.g. 2022-10-31. */
+    public static final DateTimeFormatter INPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd", Locale.ENGLISH);
+    /** Format of the dates shown to the user and in text save files, e.g. Oct 31 2022. */
+    public static final DateTimeFormatter DISPLAY = DateTimeFormatter.ofPattern("MMM d yyyy", Locale.ENGLISH);
+
+    private static final String[] MONTHS = {
+        "Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"
+    };
+    private static final long DAYS_0000_TO_1970 = 719528;
+
+    /**
+     * Parses a date in the input format, yyyy-MM-dd.
+     * @param text Text of the date.
+     * @return Epoch day of the date.
+     * @throws DateTimeParseException Text is not a date in the input format.
+     */
+    public static long parseInput(CharSequence text) {
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            int year = digits(text, 0, 4);
+            int month = digits(text, 5, 7);
+            int day = digits(text, 8, 10);
+            if (isValid(year, month, day)) {
+                return epochDay(year, month, day);
+            }
+        }
+        return LocalDate.parse(text, INPUT).toEpochDay();
+    }
+
+    /**
+     * Parses a date in the display format, MMM d yyyy.
+     * @param text Text of the date.
+     * @return Epoch day of the date.
+     * @throws DateTimeParseException Text is not a date in the display format.
+     */
+    public static long parseDisplay(CharSequence text) {
+        int length = text.length();
+        if ((length == 10 || length == 11) && text.charAt(3) == ' ' && text.charAt(length - 5) == ' ') {
+            int month = monthOf(text);
+            int day = digits(text, 4, length - 5);
+            int year = digits(text, length - 4, length);
+            if (isValid(year, month, day)) {
+                return epochDay(year, month, day);
+            }
+        }
+        return LocalDate.parse(text, DISPLAY).toEpochDay();
+    }
+
+    /**
+     * Formats a date in the display format, MMM d yyyy.
+     * @param date Date to be formatted.
+     * @return Text of the date.
+     */
+    public static String format(LocalDate date) {
+        return date.format(DISPLAY);
+    }
+
+    /**
+     * Reads the decimal number between start and end, or -1 if any character there is not a digit.
+     */
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int monthOf(CharSequence text) {
+        for (int month = 0; month < MONTHS.length; month++) {
+            String name = MONTHS[month];
+            if (text.charAt(0) == name.charAt(0) && text.charAt(1) == name.charAt(1)
+                    && text.charAt(2) == name.charAt(2)) {
+                return month + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks the fields of a date that the hand-written parsers accept. Days past the end of
+     * the month are left to the formatters, which move them back to the last day of the month.
+     */
+    private static boolean isValid(int year, int month, int day) {
+        return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= lengthOfMonth(year, month);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Counts the days from 1970-01-01 to a valid date from year 1 onwards, as LocalDate.toEpochDay() does.
+     */
+    private static long epochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
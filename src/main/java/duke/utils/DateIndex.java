@@ -0,0 +1,287 @@
+package duke.utils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import duke.task.Recurrence;
+
+/**
+ * Keeps the ids of tasks ordered by their epoch day, with a separate ordering of the
+ * tasks that are not done yet. Tasks on the same day are ordered by id, which follows the
+ * order they were added to the list in. Tasks without a date are kept after all dated tasks.
+ * Recurring tasks are kept apart and placed at their next occurrence from the day of each query,
+ * which is found once for the day and kept until the next change to a recurring task.
+ * Queries over a window of days go on to generate the later occurrences in the window one at a time,
+ * in date order, only as far as they are needed.
+ * @author Jason
+ */
+public class DateIndex {
+    /** Key used in place of the epoch day for tasks without a date. */
+    public static final long UNDATED = Long.MAX_VALUE;
+    private static final long LAST_DAY = LocalDate.of(9999, 12, 31).toEpochDay();
+
+    private final NavigableMap<Long, TreeSet<Integer>> all = new TreeMap<>();
+    private final NavigableMap<Long, TreeSet<Integer>> pending = new TreeMap<>();
+    private final Map<Integer, Recurring> recurring = new TreeMap<>();
+    private volatile Occurrences occurrences;
+
+    /**
+     * Adds a task to the index.
+     * @param id Id of the task.
+     * @param epochDay Date of the task as an epoch day, or {@link #UNDATED}.
+     * @param recurrence How often the task repeats from its date, or null if it happens once.
+     * @param isDone Status of the task.
+     */
+    public void add(int id, long epochDay, Recurrence recurrence, boolean isDone) {
+        if (recurrence != null) {
+            recurring.put(id, new Recurring(LocalDate.ofEpochDay(epochDay), recurrence, isDone));
+            occurrences = null;
+            return;
+        }
+        all.computeIfAbsent(epochDay, k -> new TreeSet<>()).add(id);
+        if (!isDone) {
+            pending.computeIfAbsent(epochDay, k -> new TreeSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     * @param id Id of the task.
+     * @param epochDay Date the task was indexed with.
+     */
+    public void remove(int id, long epochDay) {
+        if (recurring.remove(id) != null) {
+            occurrences = null;
+            return;
+        }
+        removeFrom(all, id, epochDay);
+        removeFrom(pending, id, epochDay);
+    }
+
+    /**
+     * Updates the status of a task.
+     * @param id Id of the task.
+     * @param epochDay Date the task was indexed with.
+     * @param isDone New status of the task.
+     */
+    public void setDone(int id, long epochDay, boolean isDone) {
+        Recurring task = recurring.get(id);
+        if (task != null) {
+            task.isDone = isDone;
+            occurrences = null;
+            return;
+        }
+        if (isDone) {
+            removeFrom(pending, id, epochDay);
+        } else {
+            pending.computeIfAbsent(epochDay, k -> new TreeSet<>()).add(id);
+        }
+    }
+
+    /**
+     * Gives the ids of all tasks from the earliest date to the latest.
+     * @param fromDay Day from which the next occurrences of recurring tasks are found, as an epoch day.
+     * @return Ids of the tasks in date order.
+     */
+    public List<Integer> ordered(long fromDay) {
+        Occurrences next = occurrencesFrom(fromDay);
+        return collect(all, next.all, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the tasks not done yet dated on or before the given day, along with every occurrence
+     * of the recurring tasks from another day up to it.
+     * @param epochDay Latest date to include, as an epoch day.
+     * @param fromDay Day from which the occurrences of recurring tasks are found, as an epoch day.
+     * @return Occurrences in date order, each with the id of its task.
+     */
+    public List<Occurrence> pendingUntil(long epochDay, long fromDay) {
+        return pendingBetween(pending.headMap(epochDay, true), fromDay, epochDay, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Gives the first occurrences of tasks not done yet dated on or after the given day,
+     * where a recurring task may occur several times.
+     * @param epochDay Earliest date to include, as an epoch day.
+     * @param limit Maximum number of occurrences to give.
+     * @return Occurrences in date order, each with the id of its task.
+     */
+    public List<Occurrence> pendingFrom(long epochDay, int limit) {
+        return pendingBetween(pending.subMap(epochDay, true, LAST_DAY, true), epochDay, LAST_DAY, limit);
+    }
+
+    /**
+     * Merges tasks that happen once with the occurrences of recurring tasks from one day to another.
+     * Each recurring task joins at its next occurrence from the first day, which is kept for the day,
+     * and its later occurrences are found one at a time as the earlier ones are given. Occurrences on the
+     * same day are ordered by id.
+     */
+    private List<Occurrence> pendingBetween(NavigableMap<Long, TreeSet<Integer>> once, long fromDay, long toDay,
+            int limit) {
+        List<Occurrence> found = new ArrayList<>();
+        Iterator<Map.Entry<Long, TreeSet<Integer>>> onceDays = once.entrySet().iterator();
+        Iterator<Map.Entry<Long, TreeSet<Integer>>> firstDays = fromDay > toDay
+                ? Collections.emptyIterator()
+                : occurrencesFrom(fromDay).pending.headMap(toDay, true).entrySet().iterator();
+        Map.Entry<Long, TreeSet<Integer>> onceDay = onceDays.hasNext() ? onceDays.next() : null;
+        Map.Entry<Long, TreeSet<Integer>> firstDay = firstDays.hasNext() ? firstDays.next() : null;
+        PriorityQueue<Series> later = new PriorityQueue<>();
+        while (found.size() < limit && (onceDay != null || firstDay != null || !later.isEmpty())) {
+            long day = Math.min(onceDay == null ? UNDATED : onceDay.getKey(),
+                    firstDay == null ? UNDATED : firstDay.getKey());
+            if (!later.isEmpty()) {
+                day = Math.min(day, later.peek().epochDay);
+            }
+            TreeSet<Integer> ids = new TreeSet<>();
+            if (onceDay != null && onceDay.getKey() == day) {
+                ids.addAll(onceDay.getValue());
+                onceDay = onceDays.hasNext() ? onceDays.next() : null;
+            }
+            if (firstDay != null && firstDay.getKey() == day) {
+                ids.addAll(firstDay.getValue());
+                for (int id : firstDay.getValue()) {
+                    later.add(new Series(id, day));
+                }
+                firstDay = firstDays.hasNext() ? firstDays.next() : null;
+            }
+            while (!later.isEmpty() && later.peek().epochDay == day) {
+                Series series = later.poll();
+                ids.add(series.id);
+                Recurring task = recurring.get(series.id);
+                long next = task.recurrence.occurrenceAfter(task.start, LocalDate.ofEpochDay(day)).toEpochDay();
+                if (next <= toDay) {
+                    later.add(new Series(series.id, next));
+                }
+            }
+            LocalDate date = LocalDate.ofEpochDay(day);
+            for (int id : ids) {
+                if (found.size() == limit) {
+                    break;
+                }
+                found.add(new Occurrence(id, date));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Provides the next occurrences of the recurring tasks from a day, finding them if they were last
+     * found from another day or a recurring task has changed since.
+     */
+    private synchronized Occurrences occurrencesFrom(long fromDay) {
+        Occurrences next = occurrences;
+        if (next != null && next.fromDay == fromDay) {
+            return next;
+        }
+        next = new Occurrences(fromDay);
+        LocalDate from = LocalDate.ofEpochDay(fromDay);
+        for (Map.Entry<Integer, Recurring> entry : recurring.entrySet()) {
+            Recurring task = entry.getValue();
+            long epochDay = task.recurrence.nextOccurrence(task.start, from).toEpochDay();
+            next.all.computeIfAbsent(epochDay, k -> new TreeSet<>()).add(entry.getKey());
+            if (!task.isDone) {
+                next.pending.computeIfAbsent(epochDay, k -> new TreeSet<>()).add(entry.getKey());
+            }
+        }
+        occurrences = next;
+        return next;
+    }
+
+    /**
+     * Collects the ids of two orderings by day, merging the days found in both.
+     */
+    private static List<Integer> collect(NavigableMap<Long, TreeSet<Integer>> days,
+            NavigableMap<Long, TreeSet<Integer>> otherDays, int limit) {
+        List<Integer> ids = new ArrayList<>();
+        Iterator<Map.Entry<Long, TreeSet<Integer>>> first = days.entrySet().iterator();
+        Iterator<Map.Entry<Long, TreeSet<Integer>>> second = otherDays.entrySet().iterator();
+        Map.Entry<Long, TreeSet<Integer>> a = first.hasNext() ? first.next() : null;
+        Map.Entry<Long, TreeSet<Integer>> b = second.hasNext() ? second.next() : null;
+        while ((a != null || b != null) && ids.size() < limit) {
+            TreeSet<Integer> day;
+            if (b == null || a != null && a.getKey() < b.getKey()) {
+                day = a.getValue();
+                a = first.hasNext() ? first.next() : null;
+            } else if (a == null || b.getKey() < a.getKey()) {
+                day = b.getValue();
+                b = second.hasNext() ? second.next() : null;
+            } else {
+                day = new TreeSet<>(a.getValue());
+                day.addAll(b.getValue());
+                a = first.hasNext() ? first.next() : null;
+                b = second.hasNext() ? second.next() : null;
+            }
+            for (Integer id : day) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static void removeFrom(Map<Long, TreeSet<Integer>> days, int id, long epochDay) {
+        TreeSet<Integer> day = days.get(epochDay);
+        if (day != null) {
+            day.remove(id);
+            if (day.isEmpty()) {
+                days.remove(epochDay);
+            }
+        }
+    }
+
+    /**
+     * Holds a recurring task by its first date.
+     */
+    private static class Recurring {
+        private final LocalDate start;
+        private final Recurrence recurrence;
+        private boolean isDone;
+
+        private Recurring(LocalDate start, Recurrence recurrence, boolean isDone) {
+            this.start = start;
+            this.recurrence = recurrence;
+            this.isDone = isDone;
+        }
+    }
+
+    /**
+     * Holds the day a recurring task was last found to occur on, ordered by the day and then by id.
+     */
+    private static class Series implements Comparable<Series> {
+        private final int id;
+        private final long epochDay;
+
+        private Series(int id, long epochDay) {
+            this.id = id;
+            this.epochDay = epochDay;
+        }
+
+        @Override
+        public int compareTo(Series other) {
+            return epochDay != other.epochDay ? Long.compare(epochDay, other.epochDay) : Integer.compare(id, other.id);
+        }
+    }
+
+    /**
+     * Holds the recurring tasks ordered by their next occurrence from a day.
+     */
+    private static class Occurrences {
+        private final long fromDay;
+        private final NavigableMap<Long, TreeSet<Integer>> all = new TreeMap<>();
+        private final NavigableMap<Long, TreeSet<Integer>> pending = new TreeMap<>();
+
+        private Occurrences(long fromDay) {
+            this.fromDay = fromDay;
+        }
+    }
+}
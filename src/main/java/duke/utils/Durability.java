@@ -0,0 +1,14 @@
+package duke.utils;
+
+/**
+ * Represents how soon changes are written to the save journal.
+ * @author Jason
+ */
+public enum Durability {
+    /** Changes are written and forced to disk before the command returns. */
+    SYNC,
+    /** Changes made within the flush delay are written and forced to disk together in the background. */
+    BATCHED,
+    /** Changes are written in the background as soon as possible, without forcing them to disk. */
+    ASYNC
+}
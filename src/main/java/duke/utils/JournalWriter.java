@@ -0,0 +1,140 @@
+package duke.utils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends records to the save journal, coalescing bursts of records into a single write
+ * according to the {@link Durability} chosen.
+ * @author Jason
+ */
+public class JournalWriter {
+    private static final long DEFAULT_FLUSH_DELAY_MILLIS = 100;
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final File journal;
+    private final Runnable afterFlush;
+    private final StringBuilder pending = new StringBuilder();
+    private final ScheduledThreadPoolExecutor flusher = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "journal-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private Durability durability = Durability.BATCHED;
+    private long flushDelayMillis = DEFAULT_FLUSH_DELAY_MILLIS;
+    private boolean isScheduled;
+
+    /**
+     * Constructs a JournalWriter.
+     * @param journal Journal file to append to.
+     * @param afterFlush Task to run on the writer thread after records are written in the background.
+     */
+    public JournalWriter(File journal, Runnable afterFlush) {
+        this.journal = journal;
+        this.afterFlush = afterFlush;
+        this.flusher.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public synchronized void setDurability(Durability durability) {
+        this.durability = durability;
+    }
+
+    /**
+     * Sets how long records are held to be written together under {@link Durability#BATCHED}.
+     * @param millis Delay in milliseconds.
+     */
+    public synchronized void setFlushDelay(long millis) {
+        assert(millis >= 0);
+        this.flushDelayMillis = millis;
+    }
+
+    /**
+     * Queues a record to be written.
+     * @param record Line to be appended to the journal.
+     * @return True if the record has already been written.
+     * @throws IOException Record could not be written under {@link Durability#SYNC}.
+     */
+    public synchronized boolean append(String record) throws IOException {
+        pending.append(record).append(System.lineSeparator());
+        switch (durability) {
+        case SYNC:
+            flush();
+            return true;
+        case BATCHED:
+            schedule(flushDelayMillis);
+            return false;
+        case ASYNC:
+            schedule(0);
+            return false;
+        default:
+            throw new AssertionError(durability);
+        }
+    }
+
+    /**
+     * Writes all queued records to the journal.
+     */
+    public synchronized void flush() throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+        byte[] records = pending.toString().getBytes(StandardCharsets.UTF_8);
+        try (FileOutputStream out = new FileOutputStream(journal, true)) {
+            out.write(records);
+            if (durability != Durability.ASYNC) {
+                out.getChannel().force(false);
+            }
+        } catch (IOException e) {
+            throw new IOException("Something went wrong: " + e.getMessage());
+        }
+        pending.setLength(0);
+        Metrics.get().recordJournalWrite(records.length);
+    }
+
+    /**
+     * Drops all queued records, once they are covered by a new snapshot.
+     */
+    public synchronized void discard() {
+        pending.setLength(0);
+    }
+
+    /**
+     * Writes all queued records and stops the writer thread, dropping any write scheduled after them.
+     */
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            flusher.shutdown();
+            try {
+                flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void schedule(long delayMillis) {
+        if (isScheduled) {
+            return;
+        }
+        isScheduled = true;
+        flusher.schedule(this::flushInBackground, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void flushInBackground() {
+        try {
+            synchronized (this) {
+                isScheduled = false;
+                flush();
+            }
+            afterFlush.run();
+        } catch (IOException e) {
+            System.out.println("Something went wrong while saving your data: " + e.getMessage());
+        }
+    }
+}
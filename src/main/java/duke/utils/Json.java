@@ -0,0 +1,205 @@
+package duke.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import duke.DukeException;
+
+/**
+ * Writes JSON strings and reads the flat JSON objects sent to the API server, without a JSON library.
+ * @author Jason
+ */
+public class Json {
+    private static final String JSON_ERROR = "\uD83D\uDE14 OOPS!!! The request is not a JSON object of "
+            + "strings, numbers or booleans!";
+
+    /**
+     * Writes a string as a JSON string, escaping quotes, backslashes and control characters.
+     * @param text String to be written.
+     * @return JSON string, including its quotes.
+     */
+    public static String quote(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+            case ('"'):
+                json.append("\\\"");
+                break;
+            case ('\\'):
+                json.append("\\\\");
+                break;
+            case ('\n'):
+                json.append("\\n");
+                break;
+            case ('\r'):
+                json.append("\\r");
+                break;
+            case ('\t'):
+                json.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04x", (int) c));
+                } else {
+                    json.append(c);
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Reads a JSON object whose values are all strings, numbers, booleans or null.
+     * @param json Text of the object.
+     * @return Values of the object by their keys, with numbers and booleans as they were written
+     *         and null values left out.
+     * @throws DukeException Text is not such an object.
+     */
+    public static Map<String, String> parseObject(String json) throws DukeException {
+        Reader reader = new Reader(json);
+        Map<String, String> values = new LinkedHashMap<>();
+        reader.expect('{');
+        if (!reader.skip('}')) {
+            do {
+                String key = reader.readString();
+                reader.expect(':');
+                String value = reader.readValue();
+                if (value != null) {
+                    values.put(key, value);
+                }
+            } while (reader.skip(','));
+            reader.expect('}');
+        }
+        if (!reader.isAtEnd()) {
+            throw new DukeException(JSON_ERROR);
+        }
+        return values;
+    }
+
+    /**
+     * Reads the parts of a JSON text in order, skipping whitespace between them.
+     */
+    private static class Reader {
+        private final String json;
+        private int position;
+
+        private Reader(String json) {
+            this.json = json;
+        }
+
+        private boolean skip(char expected) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) throws DukeException {
+            if (!skip(expected)) {
+                throw new DukeException(JSON_ERROR);
+            }
+        }
+
+        private boolean isAtEnd() {
+            skipWhitespace();
+            return position == json.length();
+        }
+
+        private String readValue() throws DukeException {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < json.length() && "+-.0123456789Eaeflnrstu".indexOf(json.charAt(position)) >= 0) {
+                position++;
+            }
+            String literal = json.substring(start, position);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (!literal.equals("true") && !literal.equals("false") && !isNumber(literal)) {
+                throw new DukeException(JSON_ERROR);
+            }
+            return literal;
+        }
+
+        private String readString() throws DukeException {
+            expect('"');
+            StringBuilder text = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return text.toString();
+                }
+                if (c != '\\') {
+                    text.append(c);
+                    continue;
+                }
+                if (position >= json.length()) {
+                    break;
+                }
+                char escaped = json.charAt(position++);
+                switch (escaped) {
+                case ('b'):
+                    text.append('\b');
+                    break;
+                case ('f'):
+                    text.append('\f');
+                    break;
+                case ('n'):
+                    text.append('\n');
+                    break;
+                case ('r'):
+                    text.append('\r');
+                    break;
+                case ('t'):
+                    text.append('\t');
+                    break;
+                case ('u'):
+                    text.append(readHexChar());
+                    break;
+                case ('"'):
+                case ('\\'):
+                case ('/'):
+                    text.append(escaped);
+                    break;
+                default:
+                    throw new DukeException(JSON_ERROR);
+                }
+            }
+            throw new DukeException(JSON_ERROR);
+        }
+
+        private char readHexChar() throws DukeException {
+            if (position + 4 > json.length()) {
+                throw new DukeException(JSON_ERROR);
+            }
+            try {
+                char c = (char) Integer.parseInt(json.substring(position, position + 4), 16);
+                position += 4;
+                return c;
+            } catch (NumberFormatException e) {
+                throw new DukeException(JSON_ERROR);
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isNumber(String literal) {
+            try {
+                Double.parseDouble(literal);
+                return !literal.isEmpty() && Character.isDigit(literal.charAt(literal.length() - 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+}
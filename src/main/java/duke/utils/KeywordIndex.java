@@ -0,0 +1,133 @@
+package duke.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps lowercase words, and every prefix of them, to the ids of the tasks whose descriptions contain them.
+ * @author Jason
+ */
+public class KeywordIndex {
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    /**
+     * Indexes the description of a task.
+     * @param id Id of the task.
+     * @param description Description of the task.
+     */
+    public void add(int id, String description) {
+        for (String token : tokenize(description)) {
+            for (int end = 1; end <= token.length(); end++) {
+                postings.computeIfAbsent(token.substring(0, end), k -> new HashSet<>()).add(id);
+            }
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     * @param id Id of the task.
+     * @param description Description the task was indexed with.
+     */
+    public void remove(int id, String description) {
+        for (String token : tokenize(description)) {
+            for (int end = 1; end <= token.length(); end++) {
+                String prefix = token.substring(0, end);
+                Set<Integer> ids = postings.get(prefix);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(prefix);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    public void clear() {
+        postings.clear();
+    }
+
+    /**
+     * Finds the tasks matching a query.
+     * Words in the query must all match the start of a word in the description,
+     * while "OR" separates alternatives, e.g. "cs2100 lab OR cs2103t".
+     * @param query Query to be matched.
+     * @return Ids of the tasks matching the query, in no particular order.
+     */
+    public Set<Integer> search(String query) {
+        Set<Integer> results = new HashSet<>();
+        List<String> keywords = new ArrayList<>();
+
+        for (String word : query.trim().split("\\s+")) {
+            if (word.equals("OR")) {
+                results.addAll(matchAll(keywords));
+                keywords.clear();
+            } else {
+                keywords.addAll(tokenize(word));
+            }
+        }
+        results.addAll(matchAll(keywords));
+        return results;
+    }
+
+    /**
+     * Intersects the tasks of every keyword, starting from the rarest one.
+     */
+    private Set<Integer> matchAll(List<String> keywords) {
+        if (keywords.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        List<Set<Integer>> matches = new ArrayList<>(keywords.size());
+        for (String keyword : keywords) {
+            Set<Integer> ids = postings.get(keyword);
+            if (ids == null) {
+                return Collections.emptySet();
+            }
+            matches.add(ids);
+        }
+        matches.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+        Set<Integer> results = new HashSet<>();
+        for (Integer id : matches.get(0)) {
+            boolean isMatch = true;
+            for (int i = 1; i < matches.size() && isMatch; i++) {
+                isMatch = matches.get(i).contains(id);
+            }
+            if (isMatch) {
+                results.add(id);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Splits text into lowercase words of letters and digits.
+     * @param text Text to be split.
+     * @return Words in the text.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String lowerCase = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isWordCharacter = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isWordCharacter && start < 0) {
+                start = i;
+            } else if (!isWordCharacter && start >= 0) {
+                tokens.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,31 @@
+package duke.utils;
+
+/**
+ * Exposes the times counted by a {@link LatencyHistogram} through JMX.
+ * @author Jason
+ */
+public interface LatencyHistogramMBean {
+    /**
+     * Gives the number of recorded times.
+     * @return Number of times.
+     */
+    long getCount();
+
+    /**
+     * Gives the time that half of the recorded times did not exceed.
+     * @return Median time in microseconds.
+     */
+    double getMedianMicros();
+
+    /**
+     * Gives the time that 99% of the recorded times did not exceed.
+     * @return 99th percentile time in microseconds.
+     */
+    double getP99Micros();
+
+    /**
+     * Gives the longest recorded time.
+     * @return Longest time in microseconds.
+     */
+    double getMaxMicros();
+}
@@ -0,0 +1,269 @@
+package duke.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import duke.DukeException;
+import duke.task.Task;
+
+/**
+ * Provides a list of tasks over a memory-mapped binary snapshot.
+ * Only the offsets of the records are kept in memory, and they are found lazily as tasks
+ * further down the file are requested. Tasks are decoded on demand, with the most recently
+ * used ones cached. Tasks that are added or replaced are held in memory instead.
+ * Snapshots share the offsets with the list, which copies them before its next change.
+ * @author Jason
+ */
+public class MappedTaskList extends AbstractList<Task> implements RandomAccess {
+    private static final int CACHE_CAPACITY = 1024;
+
+    private final MappedByteBuffer buffer;
+    private final long sequence;
+    private final int recordCount;
+    private final Map<Integer, Task> held = new HashMap<>();
+    private final Map<Integer, Task> cache = new LinkedHashMap<>(CACHE_CAPACITY, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    // A slot holds the offset of a record, or -(key + 1) for a task in held.
+    private int[] slots;
+    private int size;
+    private int scanned;
+    private int nextOffset = BinaryFormat.HEADER_LENGTH;
+    private int nextKey;
+    private boolean isShared;
+
+    private MappedTaskList(MappedByteBuffer buffer) throws DukeException {
+        this.buffer = buffer;
+        this.recordCount = BinaryFormat.readCount(buffer);
+        this.sequence = BinaryFormat.readSequence(buffer);
+        this.slots = new int[Math.max(recordCount, 16)];
+        this.size = recordCount;
+    }
+
+    private MappedTaskList(MappedTaskList list) {
+        this.buffer = list.buffer;
+        this.sequence = list.sequence;
+        this.recordCount = list.recordCount;
+        this.slots = list.slots;
+        this.size = list.size;
+        this.scanned = list.scanned;
+        this.nextOffset = list.nextOffset;
+        this.nextKey = list.nextKey;
+        for (Map.Entry<Integer, Task> entry : list.held.entrySet()) {
+            held.put(entry.getKey(), BinaryFormat.copy(entry.getValue()));
+        }
+    }
+
+    /**
+     * Maps a binary snapshot into memory.
+     * The mapping stays valid after the snapshot is replaced by renaming a new file over it.
+     * Opening takes the same time however long the snapshot is, as its checksum is only verified
+     * by {@link #verifyChecksum()}.
+     * @param file Snapshot file, at most 2GB in size.
+     * @return List of the tasks in the snapshot.
+     * @throws DukeException Snapshot is damaged or of an unknown format.
+     */
+    public static MappedTaskList open(File file) throws DukeException, IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new MappedTaskList(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Checks the checksum of the snapshot over the mapping, i.e. over the very bytes the tasks are read from.
+     * @throws DukeException Snapshot is damaged or cut short.
+     */
+    public void verifyChecksum() throws DukeException {
+        BinaryFormat.verifyChecksum(buffer);
+    }
+
+    /**
+     * Gives the journal sequence number covered by the mapped snapshot.
+     * @return Sequence number of the snapshot.
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Gives a view of the tasks as they are now, which later changes to the list do not affect.
+     * The offsets of all records are found first, after which only the tasks held in memory are copied.
+     * @return Unmodifiable list of the tasks.
+     */
+    public synchronized List<Task> snapshot() {
+        scanTo(recordCount - 1);
+        isShared = true;
+        return Collections.unmodifiableList(new MappedTaskList(this));
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.size;
+    }
+
+    @Override
+    public synchronized Task get(int index) {
+        checkIndex(index, size);
+        scanTo(index);
+        int slot = slots[index];
+        if (slot < 0) {
+            return held.get(-slot - 1);
+        }
+
+        Task task = cache.get(slot);
+        if (task == null) {
+            try {
+                task = BinaryFormat.decode(buffer, slot);
+            } catch (DukeException e) {
+                throw new IllegalStateException(e.getMessage());
+            }
+            cache.put(slot, task);
+        }
+        return task;
+    }
+
+    @Override
+    public synchronized Task set(int index, Task task) {
+        Task previous = get(index);
+        unshare();
+        int slot = slots[index];
+        if (slot < 0) {
+            held.put(-slot - 1, task);
+        } else {
+            cache.remove(slot);
+            slots[index] = hold(task);
+        }
+        return previous;
+    }
+
+    @Override
+    public synchronized void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        if (index < size) {
+            // Shifting needs the offsets of every record after the index.
+            scanTo(recordCount - 1);
+        }
+        unshare();
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        System.arraycopy(slots, index, slots, index + 1, size - index);
+        slots[index] = hold(task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public synchronized Task remove(int index) {
+        Task task = get(index);
+        scanTo(recordCount - 1);
+        unshare();
+        int slot = slots[index];
+        if (slot < 0) {
+            held.remove(-slot - 1);
+        }
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        size--;
+        modCount++;
+        return task;
+    }
+
+    /**
+     * Removes the tasks at many indexes, moving the remaining slots up in a single pass.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     */
+    public synchronized void removeAll(int[] indexes) {
+        for (int index : indexes) {
+            checkIndex(index, size);
+        }
+        scanTo(recordCount - 1);
+        unshare();
+        int kept = indexes.length == 0 ? size : indexes[0];
+        int next = 0;
+        for (int i = kept; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+                if (slots[i] < 0) {
+                    held.remove(-slots[i] - 1);
+                }
+                continue;
+            }
+            slots[kept++] = slots[i];
+        }
+        size = kept;
+        modCount++;
+    }
+
+    /**
+     * Inserts tasks at many indexes, moving the slots already in the list down in a single pass.
+     * @param indexes Distinct indexes the tasks end up at, in ascending order.
+     * @param tasks Tasks to insert, in the same order.
+     */
+    public synchronized void insertAll(int[] indexes, List<Task> tasks) {
+        int count = indexes.length;
+        if (count == 0) {
+            return;
+        }
+        checkIndex(indexes[count - 1], size + count);
+        scanTo(recordCount - 1);
+        unshare();
+        if (size + count > slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(slots.length * 2, size + count));
+        }
+        int next = count - 1;
+        int from = size - 1;
+        for (int i = size + count - 1; next >= 0; i--) {
+            slots[i] = indexes[next] == i ? hold(tasks.get(next--)) : slots[from--];
+        }
+        size += count;
+        modCount++;
+    }
+
+    /**
+     * Copies the offsets shared with a snapshot, so the snapshot keeps its tasks.
+     */
+    private void unshare() {
+        if (isShared) {
+            slots = slots.clone();
+            isShared = false;
+        }
+    }
+
+    private int hold(Task task) {
+        held.put(nextKey, task);
+        return -(nextKey++) - 1;
+    }
+
+    /**
+     * Finds the offsets of the records in the file up to the given index.
+     * Records keep their positions in the file until the first insertion or removal,
+     * which scans the whole file beforehand.
+     */
+    private void scanTo(int index) {
+        while (scanned <= index && scanned < recordCount) {
+            slots[scanned++] = nextOffset;
+            nextOffset = BinaryFormat.nextRecord(buffer, nextOffset);
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + bound);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package duke.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Keeps how long commands, parsing, loading and saving take, along with the bytes saved and the number of tasks.
+ * The counts are shown by the "stats" command, and are registered as MBeans under the "duke" domain
+ * so a running application can be watched with any JMX console.
+ * @author Jason
+ */
+public class Metrics implements MetricsMBean {
+    private static final String DOMAIN = "duke";
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final Map<String, LatencyHistogram> commandLatencies = new ConcurrentSkipListMap<>();
+    private final LatencyHistogram parseLatency = new LatencyHistogram();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LatencyHistogram saveLatency = new LatencyHistogram();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong bytesJournalled = new AtomicLong();
+    private final AtomicLong lastSaveBytes = new AtomicLong();
+    private volatile int taskCount;
+
+    private Metrics() {
+        register(this, "type=Metrics");
+        register(parseLatency, "type=Latency,name=Parse");
+        register(loadLatency, "type=Latency,name=Load");
+        register(saveLatency, "type=Latency,name=Save");
+    }
+
+    public static Metrics get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records how long a command took to run.
+     * @param name Name of the kind of command, e.g. "ToDo".
+     * @param nanos Time in nanoseconds.
+     */
+    public void recordCommand(String name, long nanos) {
+        commandLatencies.computeIfAbsent(name, key -> {
+            LatencyHistogram histogram = new LatencyHistogram();
+            register(histogram, "type=Latency,name=" + ObjectName.quote(key));
+            return histogram;
+        }).record(nanos);
+    }
+
+    /**
+     * Records how long a command took to parse.
+     * @param nanos Time in nanoseconds.
+     */
+    public void recordParse(long nanos) {
+        parseLatency.record(nanos);
+    }
+
+    /**
+     * Records how long a save file took to load.
+     * @param nanos Time in nanoseconds.
+     * @param tasks Number of tasks loaded.
+     */
+    public void recordLoad(long nanos, int tasks) {
+        loadLatency.record(nanos);
+        taskCount = tasks;
+    }
+
+    /**
+     * Records how long a snapshot took to save.
+     * @param nanos Time in nanoseconds.
+     * @param bytes Size of the snapshot.
+     */
+    public void recordSave(long nanos, long bytes) {
+        saveLatency.record(nanos);
+        bytesSaved.addAndGet(bytes);
+        lastSaveBytes.set(bytes);
+    }
+
+    /**
+     * Records records appended to a save journal in a single write.
+     * @param bytes Size of the records written.
+     */
+    public void recordJournalWrite(long bytes) {
+        bytesSaved.addAndGet(bytes);
+        bytesJournalled.addAndGet(bytes);
+    }
+
+    public void setTaskCount(int taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    /**
+     * Gives the time each kind of command took to run.
+     * @return Histograms of the times, by the name of the kind of command in alphabetical order.
+     */
+    public Map<String, LatencyHistogram> getCommandLatencies() {
+        return Collections.unmodifiableMap(commandLatencies);
+    }
+
+    public LatencyHistogram getParseLatency() {
+        return this.parseLatency;
+    }
+
+    public LatencyHistogram getLoadLatency() {
+        return this.loadLatency;
+    }
+
+    public LatencyHistogram getSaveLatency() {
+        return this.saveLatency;
+    }
+
+    @Override
+    public long getSaveCount() {
+        return saveLatency.getCount();
+    }
+
+    @Override
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    @Override
+    public long getBytesJournalled() {
+        return bytesJournalled.get();
+    }
+
+    @Override
+    public long getLastSaveBytes() {
+        return lastSaveBytes.get();
+    }
+
+    @Override
+    public int getTaskCount() {
+        return this.taskCount;
+    }
+
+    private static void register(Object mbean, String properties) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(mbean, new ObjectName(DOMAIN + ":" + properties));
+        } catch (JMException e) {
+            System.out.println("Something went wrong while registering metrics: " + e.getMessage());
+        }
+    }
+}
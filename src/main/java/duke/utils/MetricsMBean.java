@@ -0,0 +1,37 @@
+package duke.utils;
+
+/**
+ * Exposes the counts kept by {@link Metrics} through JMX.
+ * @author Jason
+ */
+public interface MetricsMBean {
+    /**
+     * Gives the number of snapshots written to save files.
+     * @return Number of snapshots.
+     */
+    long getSaveCount();
+
+    /**
+     * Gives the number of bytes written to save files, as snapshots or to their journals.
+     * @return Number of bytes.
+     */
+    long getBytesSaved();
+
+    /**
+     * Gives the number of bytes of records appended to save journals.
+     * @return Number of bytes.
+     */
+    long getBytesJournalled();
+
+    /**
+     * Gives the size of the latest snapshot written.
+     * @return Number of bytes.
+     */
+    long getLastSaveBytes();
+
+    /**
+     * Gives the number of tasks in the list the latest command ran against.
+     * @return Number of tasks.
+     */
+    int getTaskCount();
+}
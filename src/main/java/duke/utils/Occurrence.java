@@ -0,0 +1,30 @@
+package duke.utils;
+
+import java.time.LocalDate;
+
+/**
+ * Refers to a task on one of the days it falls on, which for a recurring task is one of its occurrences.
+ * @author Jason
+ */
+public class Occurrence {
+    private final int index;
+    private final LocalDate date;
+
+    /**
+     * Constructs an Occurrence.
+     * @param index Index of the task, or its id in a {@link DateIndex}.
+     * @param date Day the task falls on.
+     */
+    public Occurrence(int index, LocalDate date) {
+        this.index = index;
+        this.date = date;
+    }
+
+    public int getIndex() {
+        return this.index;
+    }
+
+    public LocalDate getDate() {
+        return this.date;
+    }
+}
@@ -0,0 +1,157 @@
+package duke.utils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.DoubleConsumer;
+
+import duke.DukeException;
+import duke.task.Task;
+
+/**
+ * Reads long save files in the text format on many threads.
+ * The file is split into ranges that start and end at newlines, which are parsed on the common
+ * fork-join pool into compact lists of their own and then added to the list in the order of the ranges.
+ * @author Jason
+ */
+class ParallelTextReader {
+    private static final int RANGE_LENGTH = 1024 * 1024;
+    private static final int SEARCH_LENGTH = 8 * 1024;
+
+    /**
+     * Reads a text save file into the list, as {@link BufferedReader#readLine()} would split it into tasks.
+     * @param file Save file in the text format.
+     * @param list List to add the tasks to.
+     * @param progress Receives the share of the file read so far, from 0 to 1.
+     * @return Sequence number of the last journal record contained in the save file.
+     * @throws DukeException A line is not in the save file format.
+     */
+    static long read(File file, List<Task> list, DoubleConsumer progress) throws DukeException, IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long snapshotSeq = 0;
+            long firstLineEnd = findLineEnd(channel, 0, length);
+            String firstLine = new String(readRange(channel, 0, firstLineEnd), Charset.defaultCharset());
+            if (firstLine.startsWith(Storage.SEQUENCE_HEADER)) {
+                snapshotSeq = Storage.parseSequence(firstLine.substring(Storage.SEQUENCE_HEADER.length()));
+                start = firstLineEnd;
+            }
+
+            List<ParseRange> ranges = new ArrayList<>();
+            while (start < length) {
+                long end = findLineEnd(channel, Math.min(start + RANGE_LENGTH, length) - 1, length);
+                ParseRange range = new ParseRange(channel, start, end);
+                ForkJoinPool.commonPool().execute(range);
+                ranges.add(range);
+                start = end;
+            }
+
+            // Ranges are joined in order, so later ranges are still being parsed while earlier ones are added.
+            for (ParseRange range : ranges) {
+                CompactTaskList tasks = range.join();
+                if (range.error != null) {
+                    throw range.error;
+                }
+                if (range.ioError != null) {
+                    throw range.ioError;
+                }
+                if (list instanceof CompactTaskList) {
+                    CompactTaskList compactList = (CompactTaskList) list;
+                    compactList.append(tasks);
+                } else {
+                    list.addAll(tasks);
+                }
+                progress.accept((double) range.end / length);
+            }
+            return snapshotSeq;
+        }
+    }
+
+    /**
+     * Finds the end of the line that the byte at position is in.
+     * @return Position just after the newline ending the line, or the length of the file if none does.
+     */
+    private static long findLineEnd(FileChannel channel, long position, long length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SEARCH_LENGTH);
+        long offset = position;
+        while (offset < length) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return length;
+    }
+
+    private static byte[] readRange(FileChannel channel, long start, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, start + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Parses the lines in a range of the file, keeping any failure to be thrown once the range is joined.
+     */
+    private static class ParseRange extends RecursiveTask<CompactTaskList> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private DukeException error;
+        private IOException ioError;
+
+        private ParseRange(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected CompactTaskList compute() {
+            CompactTaskList tasks = new CompactTaskList();
+            byte[] bytes;
+            try {
+                bytes = readRange(channel, start, end);
+            } catch (IOException e) {
+                ioError = e;
+                return tasks;
+            }
+            try (BufferedReader br = new BufferedReader(
+                    new InputStreamReader(new ByteArrayInputStream(bytes), Charset.defaultCharset()))) {
+                String data = br.readLine();
+                while (data != null) {
+                    tasks.add(Storage.parseTask(data));
+                    data = br.readLine();
+                }
+            } catch (DukeException e) {
+                error = e;
+            } catch (IOException e) {
+                ioError = e;
+            }
+            return tasks;
+        }
+    }
+}
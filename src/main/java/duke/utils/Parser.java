@@ -1,22 +1,30 @@
 package duke.utils;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Locale;
 
 import duke.Date;
 import duke.DukeException;
 import duke.command.Command;
 import duke.command.DeadlineCommand;
 import duke.command.DeleteTaskCommand;
+import duke.command.DueCommand;
 import duke.command.EventCommand;
 import duke.command.ExitCommand;
 import duke.command.FindCommand;
 import duke.command.MarkTaskCommand;
 import duke.command.PrintListCommand;
+import duke.command.RedoCommand;
 import duke.command.SortCommand;
+import duke.command.StatsCommand;
+import duke.command.SwitchCommand;
 import duke.command.ToDoCommand;
+import duke.command.UndoCommand;
 import duke.command.UnmarkTaskCommand;
+import duke.command.UpcomingCommand;
+import duke.task.Recurrence;
 
 
 
@@ -25,6 +33,33 @@ import duke.command.UnmarkTaskCommand;
  * @author Jason
  */
 public class Parser {
+    static final int MAX_RECURRENCE_INTERVAL = 999;
+
+    private static final CommandTrie COMMANDS = new CommandTrie("bye", "sort", "list", "delete", "mark", "unmark",
+            "todo", "deadline", "event", "find", "due", "upcoming", "undo", "redo",
+            "switch", "stats");
+    private static final String DEADLINE_DELIMITER = " /by ";
+    private static final String EVENT_DELIMITER = " /at ";
+    private static final String RECURRENCE_DELIMITER = " /every ";
+    private static final String TODO_ERROR = "\uD83D\uDE14 OOPS!!! The description of a todo cannot be empty.";
+    private static final String DEADLINE_ERROR = "\uD83D\uDE14 OOPS!!! Please follow the syntax for a "
+            + "'deadline' command: deadline [description] /by [date] [/every [n] day|week|month|year].";
+    private static final String EVENT_ERROR = "\uD83D\uDE14 OOPS!!! Please follow the syntax for an "
+            + "'event' command: event [description] /at [date] [/every [n] day|week|month|year].";
+    private static final String FIND_ERROR = "\uD83D\uDE14 OOPS!!! Please input a keyword to find.";
+    private static final String INDEX_ERROR = "\uD83D\uDE14 OOPS!!! Please enter valid index numbers, "
+            + "e.g. 3, 1,4,9, 10-500 or done!";
+    private static final String SELECT_DONE = "done";
+    private static final int MAX_INDEX_DIGITS = 9;
+    private static final String OPTION_FUZZY = "--fuzzy";
+    private static final String WORKSPACE_ERROR = "\uD83D\uDE14 OOPS!!! Please enter the name of a list "
+            + "of up to 32 letters, digits, '-' or '_', e.g. switch cs2103t!";
+    private static final int MAX_WORKSPACE_NAME_LENGTH = 32;
+    private static final String DUE_ERROR = "\uD83D\uDE14 OOPS!!! Please enter a date to show the tasks due by.";
+    private static final String RECURRENCE_ERROR = "\uD83D\uDE14 OOPS!!! Please say how often the task repeats, "
+            + "e.g. /every week or /every 2 months!";
+    private static final String CONTROL_CHARACTER_ERROR = "\uD83D\uDE14 OOPS!!! Please keep the command "
+            + "on one line, without tabs or other control characters!";
 
     /**
      * Handles the parsing of dates to create Deadlines or Events.
@@ -32,12 +67,9 @@ public class Parser {
      * @return Date object used to construct Deadlines or Events.
      * @throws DukeException Exception if date format is wrong.
      */
-    public static Date parseDate(String input) throws DukeException {
+    public static Date parseDate(CharSequence input) throws DukeException {
         try {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            LocalDate parsed = LocalDate.parse(input, dtf);
-
-            return new Date(parsed);
+            return Date.ofEpochDay(DateFormat.parseInput(input));
         } catch (DateTimeParseException e) {
             throw new DukeException("\uD83D\uDE14 OOPS!!! Please follow the Date and Time Format: "
                     + "yyyy-MM-dd [2000-01-01]");
@@ -53,26 +85,100 @@ public class Parser {
      */
     public static Date parseDateSave(String input) throws DukeException {
         try {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern("MMM d yyyy");
-            LocalDate parsed = LocalDate.parse(input, dtf);
-            return new Date(parsed);
-
+            return Date.ofEpochDay(DateFormat.parseDisplay(input));
         } catch (DateTimeParseException e) {
             throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted.");
         }
 
     }
 
+    /**
+     * Handles the parsing of how often a Deadline or Event repeats, e.g. "week" or "2 months".
+     * @param input String input of the rule, after "/every".
+     * @return Recurrence used to construct recurring Deadlines or Events.
+     * @throws DukeException Exception if the rule is not a number of days, weeks, months or years.
+     */
+    public static Recurrence parseRecurrence(CharSequence input) throws DukeException {
+        Recurrence recurrence = readRecurrence(input);
+        if (recurrence == null) {
+            throw new DukeException(RECURRENCE_ERROR);
+        }
+        return recurrence;
+    }
+
+    /**
+     * Handles the parsing of how often a Deadline or Event repeats from save file data.
+     * @param input String input of the rule.
+     * @return Recurrence used to construct recurring Deadlines or Events.
+     * @throws DukeException Exception if the rule is not in the save file format.
+     */
+    public static Recurrence parseRecurrenceSave(String input) throws DukeException {
+        Recurrence recurrence = readRecurrence(input);
+        if (recurrence == null) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted.");
+        }
+        return recurrence;
+    }
+
+    /**
+     * Reads a rule of an optional number of units followed by the unit, in the singular or the plural.
+     * @return Recurrence read, or null if the input is not such a rule.
+     */
+    private static Recurrence readRecurrence(CharSequence input) {
+        Tokenizer tokenizer = new Tokenizer(input);
+        if (!tokenizer.nextWord()) {
+            return null;
+        }
+        int interval = 1;
+        if (Character.isDigit(tokenizer.charAt(tokenizer.getWordStart()))) {
+            interval = tokenizer.wordAsNumber();
+            if (interval < 1 || interval > MAX_RECURRENCE_INTERVAL || !tokenizer.nextWord()) {
+                return null;
+            }
+        }
+        String unitName = tokenizer.substring(tokenizer.getWordStart(), tokenizer.getWordEnd())
+                .toLowerCase(Locale.ROOT);
+        if (tokenizer.nextWord()) {
+            return null;
+        }
+        if (unitName.endsWith("s")) {
+            unitName = unitName.substring(0, unitName.length() - 1);
+        }
+
+        switch (unitName) {
+        case ("day"):
+            return new Recurrence(ChronoUnit.DAYS, interval);
+        case ("week"):
+            return new Recurrence(ChronoUnit.WEEKS, interval);
+        case ("month"):
+            return new Recurrence(ChronoUnit.MONTHS, interval);
+        case ("year"):
+            return new Recurrence(ChronoUnit.YEARS, interval);
+        default:
+            return null;
+        }
+    }
+
     /**
      * Handles the parsing of inputs given by the user to AIlfred.
+     * Commands may be shortened to any prefix that only one command starts with, e.g. "dea" for "deadline".
+     * Line breaks and other control characters are rejected, as each change is saved as a single line.
      * @param input String input of the entire command.
      * @return Command object dictating how the command should be run.
-     * @throws DukeException Exception if input is not one of the listed commands.
+     * @throws DukeException Exception if input is not one of the listed commands or its syntax is wrong.
      */
     public static Command parseCommand(String input) throws DukeException {
-        // Splits the string in an array of [command, others]
-        String[] inputArr = input.split(" ", 2);
-        String command = inputArr[0];
+        for (int i = 0; i < input.length(); i++) {
+            if (Character.isISOControl(input.charAt(i))) {
+                throw new DukeException(CONTROL_CHARACTER_ERROR);
+            }
+        }
+        Tokenizer tokenizer = new Tokenizer(input);
+        String command = tokenizer.nextWord() ? COMMANDS.find(tokenizer) : null;
+        if (command == null) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! I'm sorry, but I do not know what does \""
+                    + input + "\" mean.");
+        }
 
         switch (command) {
         case ("bye"):
@@ -80,24 +186,177 @@ public class Parser {
         case ("sort"):
             return new SortCommand();
         case ("list"):
-            return new PrintListCommand();
+            return new PrintListCommand(tokenizer.rest());
         case ("delete"):
-            return new DeleteTaskCommand(inputArr[1]);
+            return new DeleteTaskCommand(parseSelection(tokenizer));
         case ("mark"):
-            return new MarkTaskCommand(inputArr[1]); //Second word is the task's index
+            return new MarkTaskCommand(parseSelection(tokenizer));
         case ("unmark"):
-            return new UnmarkTaskCommand(inputArr[1]); //Second word is the task's index
+            return new UnmarkTaskCommand(parseSelection(tokenizer));
         case ("todo"):
-            return new ToDoCommand(inputArr);
+            return new ToDoCommand(parseText(tokenizer, TODO_ERROR));
         case ("deadline"):
-            return new DeadlineCommand(inputArr);
+            return parseDeadline(tokenizer);
         case ("event"):
-            return new EventCommand(inputArr);
+            return parseEvent(tokenizer);
         case("find"):
-            return new FindCommand(inputArr[1]);
+            return parseFind(tokenizer);
+        case("due"):
+            return new DueCommand(parseDate(parseText(tokenizer, DUE_ERROR).trim()));
+        case("upcoming"):
+            return new UpcomingCommand(tokenizer.rest());
+        case("undo"):
+            return new UndoCommand();
+        case("redo"):
+            return new RedoCommand();
+        case("switch"):
+            return new SwitchCommand(parseWorkspaceName(tokenizer));
+        case("stats"):
+            return new StatsCommand();
         default:
             throw new DukeException("\uD83D\uDE14 OOPS!!! I'm sorry, but I do not know what does \""
                     + input + "\" mean.");
         }
     }
+
+    /**
+     * Reads the tasks selected after the command in a single pass: "done", or indexes and ranges
+     * of indexes separated by commas or spaces, e.g. "1,4,9" or "10-500".
+     * @return Selection of the tasks, with indexes counting from 0.
+     */
+    private static Selection parseSelection(Tokenizer tokenizer) throws DukeException {
+        if (!tokenizer.nextWord()) {
+            throw new DukeException(INDEX_ERROR);
+        }
+        if (!tokenizer.hasRest() && tokenizer.substring(tokenizer.getWordStart(), tokenizer.getWordEnd())
+                .equals(SELECT_DONE)) {
+            return Selection.done();
+        }
+
+        int[] ranges = new int[2];
+        int count = 0;
+        int number = 0;
+        int digits = 0;
+        int first = -1;
+        for (int i = tokenizer.getWordStart(); i <= tokenizer.length(); i++) {
+            char c = i < tokenizer.length() ? tokenizer.charAt(i) : ',';
+            if (c >= '0' && c <= '9' && digits < MAX_INDEX_DIGITS) {
+                number = number * 10 + (c - '0');
+                digits++;
+            } else if (c == '-' && digits > 0 && first < 0) {
+                first = number;
+                number = 0;
+                digits = 0;
+            } else if ((c == ',' || c == ' ') && digits == 0 && first < 0) {
+                continue;
+            } else if ((c == ',' || c == ' ') && digits > 0) {
+                int last = number;
+                if (first < 0) {
+                    first = last;
+                }
+                if (first == 0 || first > last) {
+                    throw new DukeException(INDEX_ERROR);
+                }
+                if (count == ranges.length) {
+                    ranges = Arrays.copyOf(ranges, count * 2);
+                }
+                ranges[count++] = first - 1;
+                ranges[count++] = last - 1;
+                number = 0;
+                digits = 0;
+                first = -1;
+            } else {
+                throw new DukeException(INDEX_ERROR);
+            }
+        }
+        if (count == 0) {
+            throw new DukeException(INDEX_ERROR);
+        }
+        return Selection.ofRanges(Arrays.copyOf(ranges, count));
+    }
+
+    /**
+     * Reads everything after the command, which may not be blank.
+     */
+    private static String parseText(Tokenizer tokenizer, String error) throws DukeException {
+        String text = tokenizer.rest();
+        if (text == null || text.isBlank()) {
+            throw new DukeException(error);
+        }
+        return text;
+    }
+
+    /**
+     * Reads the name of a workspace, which is used in the name of its save file and so
+     * is kept to lowercase letters, digits, '-' and '_'.
+     */
+    private static String parseWorkspaceName(Tokenizer tokenizer) throws DukeException {
+        if (!tokenizer.nextWord()) {
+            throw new DukeException(WORKSPACE_ERROR);
+        }
+        int start = tokenizer.getWordStart();
+        int end = tokenizer.getWordEnd();
+        if (end - start > MAX_WORKSPACE_NAME_LENGTH || tokenizer.nextWord()) {
+            throw new DukeException(WORKSPACE_ERROR);
+        }
+        for (int i = start; i < end; i++) {
+            char c = tokenizer.charAt(i);
+            boolean isAllowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_';
+            if (!isAllowed) {
+                throw new DukeException(WORKSPACE_ERROR);
+            }
+        }
+        return tokenizer.substring(start, end).toLowerCase(Locale.ROOT);
+    }
+
+    private static Command parseFind(Tokenizer tokenizer) throws DukeException {
+        String query = parseText(tokenizer, FIND_ERROR);
+        if (!query.equals(OPTION_FUZZY) && !query.startsWith(OPTION_FUZZY + " ")) {
+            return new FindCommand(query);
+        }
+        String fuzzyQuery = query.substring(OPTION_FUZZY.length());
+        if (fuzzyQuery.isBlank()) {
+            throw new DukeException(FIND_ERROR);
+        }
+        return new FindCommand(fuzzyQuery.trim(), true);
+    }
+
+    private static Command parseDeadline(Tokenizer tokenizer) throws DukeException {
+        int delimiter = tokenizer.indexOf(DEADLINE_DELIMITER);
+        if (delimiter < 0) {
+            throw new DukeException(DEADLINE_ERROR);
+        }
+        int dateEnd = recurrenceStart(tokenizer, delimiter);
+        return new DeadlineCommand(tokenizer.substring(tokenizer.getRestStart(), delimiter),
+                parseDate(tokenizer.slice(delimiter + DEADLINE_DELIMITER.length(), dateEnd)),
+                parseOptionalRecurrence(tokenizer, dateEnd));
+    }
+
+    private static Command parseEvent(Tokenizer tokenizer) throws DukeException {
+        int delimiter = tokenizer.indexOf(EVENT_DELIMITER);
+        if (delimiter < 0) {
+            throw new DukeException(EVENT_ERROR);
+        }
+        int dateEnd = recurrenceStart(tokenizer, delimiter);
+        return new EventCommand(tokenizer.substring(tokenizer.getRestStart(), delimiter),
+                parseDate(tokenizer.slice(delimiter + EVENT_DELIMITER.length(), dateEnd)),
+                parseOptionalRecurrence(tokenizer, dateEnd));
+    }
+
+    /**
+     * Finds where the "/every" part of a Deadline or Event starts, after the date delimiter.
+     * @return Index of the part, or the length of the input if the task does not repeat.
+     */
+    private static int recurrenceStart(Tokenizer tokenizer, int dateDelimiter) {
+        int start = tokenizer.indexOf(RECURRENCE_DELIMITER);
+        return start > dateDelimiter ? start : tokenizer.length();
+    }
+
+    private static Recurrence parseOptionalRecurrence(Tokenizer tokenizer, int start) throws DukeException {
+        if (start == tokenizer.length()) {
+            return null;
+        }
+        return parseRecurrence(tokenizer.slice(start + RECURRENCE_DELIMITER.length(), tokenizer.length()));
+    }
 }
@@ -0,0 +1,113 @@
+package duke.utils;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import duke.DukeException;
+import duke.TaskList;
+
+/**
+ * Selects the tasks a command applies to, as ranges of indexes such as "10-500" or "1,4,9",
+ * or as every task that is done.
+ * Which tasks are done is only known when the command runs, so a selection is resolved then.
+ * @author Jason
+ */
+public class Selection {
+    private static final String INDEX_ERROR = "\uD83D\uDE14 OOPS!!! Please enter a valid index number!";
+    private static final String NONE_DONE_ERROR = "\uD83D\uDE14 OOPS!!! There are no tasks marked as done!";
+
+    // Pairs of the first and last index of each range, counting from 0, or null to select the tasks done.
+    private final int[] ranges;
+
+    private Selection(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Selects a single task.
+     * @param index Index of the task, counting from 0.
+     * @return Selection of the task.
+     */
+    public static Selection of(int index) {
+        return new Selection(new int[] {index, index});
+    }
+
+    /**
+     * Selects the tasks in the given ranges.
+     * @param ranges Pairs of the first and last index of each range, counting from 0.
+     * @return Selection of the tasks.
+     */
+    public static Selection ofRanges(int[] ranges) {
+        assert(ranges.length % 2 == 0);
+        return new Selection(ranges);
+    }
+
+    /**
+     * Selects the tasks at the given indexes.
+     * @param indexes Indexes of the tasks in ascending order, counting from 0.
+     * @return Selection of the tasks.
+     */
+    public static Selection ofIndexes(int[] indexes) {
+        int[] ranges = new int[indexes.length * 2];
+        int count = 0;
+        for (int index : indexes) {
+            if (count > 0 && ranges[count - 1] == index - 1) {
+                ranges[count - 1] = index;
+            } else {
+                ranges[count++] = index;
+                ranges[count++] = index;
+            }
+        }
+        return new Selection(Arrays.copyOf(ranges, count));
+    }
+
+    /**
+     * Selects every task that is done when the command runs.
+     * @return Selection of the tasks done.
+     */
+    public static Selection done() {
+        return new Selection(null);
+    }
+
+    /**
+     * Finds the indexes of the selected tasks in a list.
+     * @param taskList TaskList to select from.
+     * @return Distinct indexes of the selected tasks in ascending order, counting from 0.
+     * @throws DukeException Index out of bounds of the list, or no task selected.
+     */
+    public int[] resolve(TaskList taskList) throws DukeException {
+        if (ranges == null) {
+            int[] indexes = taskList.findDone();
+            if (indexes.length == 0) {
+                throw new DukeException(NONE_DONE_ERROR);
+            }
+            return indexes;
+        }
+
+        int size = taskList.size();
+        if (ranges.length == 2) {
+            return toIndexes(ranges[0], ranges[1], size);
+        }
+        BitSet selected = new BitSet();
+        for (int i = 0; i < ranges.length; i += 2) {
+            checkRange(ranges[i], ranges[i + 1], size);
+            selected.set(ranges[i], ranges[i + 1] + 1);
+        }
+        return selected.stream().toArray();
+    }
+
+    private static int[] toIndexes(int first, int last, int size) throws DukeException {
+        checkRange(first, last, size);
+        int[] indexes = new int[last - first + 1];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = first + i;
+        }
+        return indexes;
+    }
+
+    private static void checkRange(int first, int last, int size) throws DukeException {
+        if (first < 0 || first > last || last >= size) {
+            throw new DukeException(INDEX_ERROR);
+        }
+    }
+}
@@ -3,27 +3,87 @@ package duke.utils;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
 
 import duke.Date;
 import duke.DukeException;
 import duke.task.Deadline;
 import duke.task.Event;
+import duke.task.RecurringDeadline;
+import duke.task.RecurringEvent;
 import duke.task.Task;
 import duke.task.Todo;
 
 /**
  * Stores the data recorded by the user.
+ * The save file holds a snapshot of all tasks in the {@link BinaryFormat}, while every change made after the
+ * snapshot is appended to a journal next to it. The journal is replayed on load and
+ * folded back into the snapshot in the background once it grows too large.
+ * Each new snapshot is written to a temporary file, forced to the disk and renamed over the save file,
+ * while the one it replaces is kept as a backup. A damaged save file is then skipped on load in favour
+ * of the backup. Large save files that are mapped into memory are checked in the background instead,
+ * so they still open at once, and are only kept as the backup once they are found to be intact.
  * @author Jason
  */
 public class Storage {
-    private File file;
-    private File directory;
+    static final String SEQUENCE_HEADER = "# ";
+    private static final String JOURNAL_SUFFIX = ".log";
+    private static final String COMPACTING_SUFFIX = ".log.1";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+    private static final String BACKUP_JOURNAL_SUFFIX = ".log.bak";
+    private static final String CORRUPT_SUFFIX = ".corrupt";
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_DELETE = "D";
+    private static final String RECORD_MARK = "M";
+    private static final String RECORD_INSERT = "I";
+    private static final String RECORD_DELETE_ALL = "DR";
+    private static final String RECORD_MARK_ALL = "MR";
+    private static final String RECORD_INSERT_ALL = "IR";
+    private static final String RECORD_SET = "S";
+    private static final String RECORD_SET_ALL = "SR";
+    private static final long DEFAULT_COMPACTION_THRESHOLD = 1024 * 1024;
+    private static final long MAPPING_THRESHOLD = 8 * 1024 * 1024;
+    private static final long PARALLEL_LOAD_THRESHOLD = 4 * 1024 * 1024;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+    private static final int PROGRESS_INTERVAL = 64 * 1024;
+
+    private final File file;
+    private final File directory;
+    private final File journal;
+    private final File compactingJournal;
+    private final File backup;
+    private final File backupJournal;
+    private long sequence;
+    private long snapshotSequence;
+    private long compactionThreshold = DEFAULT_COMPACTION_THRESHOLD;
+    private boolean isCompacting;
+    private boolean isLegacyFormat;
+    private boolean isBatching;
+    private boolean isSnapshotCorrupt;
+    private FutureTask<Boolean> snapshotCheck;
+    private final JournalWriter journalWriter;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "storage-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * Constructs a Storage object.
@@ -34,6 +94,11 @@ public class Storage {
     public Storage(String filePath, String directoryPath) throws DukeException, IOException {
         this.file = new File(filePath);
         this.directory = new File(directoryPath);
+        this.journal = new File(filePath + JOURNAL_SUFFIX);
+        this.compactingJournal = new File(filePath + COMPACTING_SUFFIX);
+        this.backup = new File(filePath + BACKUP_SUFFIX);
+        this.backupJournal = new File(filePath + BACKUP_JOURNAL_SUFFIX);
+        this.journalWriter = new JournalWriter(this.journal, this::checkCompaction);
 
         try {
             if (!this.directory.exists()) {
@@ -46,83 +111,836 @@ public class Storage {
     }
 
     /**
-     * Parses the save file to load previously saved contents.
+     * Sets the journal size after which it is compacted into a new snapshot.
+     * @param bytes Size of the journal in bytes.
+     */
+    public void setCompactionThreshold(long bytes) {
+        assert(bytes > 0);
+        this.compactionThreshold = bytes;
+    }
+
+    /**
+     * Sets how soon changes are written to the save journal.
+     * @param durability Durability level of changes.
+     */
+    public void setDurability(Durability durability) {
+        journalWriter.setDurability(durability);
+    }
+
+    /**
+     * Sets how long changes are held to be written together under {@link Durability#BATCHED}.
+     * @param millis Delay in milliseconds.
+     */
+    public void setFlushDelay(long millis) {
+        journalWriter.setFlushDelay(millis);
+    }
+
+    /**
+     * Writes all changes that are still held in memory to the save journal.
+     */
+    public void flush() throws IOException {
+        journalWriter.flush();
+        checkCompaction();
+    }
+
+    /**
+     * Writes all changes that are still held in memory and stops the threads writing to the save file,
+     * waiting for a compaction in progress to finish. The storage may not be used afterwards.
+     */
+    public void close() throws IOException {
+        try {
+            journalWriter.close();
+            checkCompaction();
+        } finally {
+            compactor.shutdown();
+            try {
+                compactor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Parses the save file and replays the journal to load previously saved contents.
+     * Large binary save files are mapped into memory and decoded lazily instead, while other
+     * save files are read into a {@link CompactTaskList}.
+     * If the save file is damaged or missing, the backup of the previous snapshot is loaded instead,
+     * along with whatever journal follows on from it, and saved as the new save file.
      * @throws DukeException Inputs in save file is wrong.
      * @throws IOException Buffered reader fails the reading of data.
      */
     public List<Task> load() throws DukeException, IOException {
-        List<Task> list = new ArrayList<>(100);
-        try (BufferedReader br = new BufferedReader(new FileReader(this.file))) {
+        return load(share -> { });
+    }
+
+    /**
+     * Loads previously saved contents as in {@link #load()}, reporting how much of the save file
+     * has been read as it goes.
+     * @param progress Receives the share of the save file read so far, from 0 to 1.
+     * @throws DukeException Inputs in save file is wrong.
+     * @throws IOException Buffered reader fails the reading of data.
+     */
+    public List<Task> load(DoubleConsumer progress) throws DukeException, IOException {
+        return load(progress, prefix -> { });
+    }
+
+    /**
+     * Loads previously saved contents as in {@link #load(DoubleConsumer)}, also handing out the tasks
+     * read so far while a long save file is read into memory. Each of them is handed out once their number
+     * has doubled since the last time, so copying them costs no more than reading them.
+     * The tasks handed out are those of the save file, before the changes in the journal.
+     * @param progress Receives the share of the save file read so far, from 0 to 1.
+     * @param prefix Receives the first tasks of the save file, each time as a copy of its own.
+     * @throws DukeException Inputs in save file is wrong.
+     * @throws IOException Buffered reader fails the reading of data.
+     */
+    public synchronized List<Task> load(DoubleConsumer progress, Consumer<List<Task>> prefix)
+            throws DukeException, IOException {
+        if (!this.file.exists() && !this.backup.exists() && !this.journal.exists()
+                && !this.compactingJournal.exists()) {
+            throw new IOException("No save file found at " + this.file.getPath());
+        }
+
+        long start = System.nanoTime();
+        List<Task> list;
+        try {
+            if (!this.file.exists() && this.backup.exists()) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is missing!");
+            }
+            list = loadSnapshot(this.file, progress, prefix);
+        } catch (DukeException e) {
+            if (!this.backup.exists()) {
+                throw e;
+            }
+            System.out.println("\uD83D\uDE14 OOPS!!! The save file is damaged, so I have loaded the previous save!");
+            isSnapshotCorrupt = true;
+            list = loadSnapshot(this.backup, progress, prefix);
+            // The journals may hold changes that only follow on from the damaged snapshot.
+            saveData(list);
+        }
+        long elapsed = System.nanoTime() - start;
+        Metrics.get().recordLoad(elapsed, list.size());
+
+        System.out.println("I have reloaded your saved file \uD83D\uDE0A ✨!");
+        return list;
+    }
+
+    /**
+     * Reads a snapshot and replays the journals that follow on from it.
+     * @param snapshot Save file or its backup.
+     * @param progress Receives the share of the snapshot read so far.
+     * @param prefix Receives the tasks read so far, every so often.
+     * @return Tasks in the snapshot after the changes in the journals.
+     */
+    private List<Task> loadSnapshot(File snapshot, DoubleConsumer progress, Consumer<List<Task>> prefix)
+            throws DukeException, IOException {
+        List<Task> list;
+        isLegacyFormat = snapshot.exists() && !BinaryFormat.isBinary(snapshot);
+        long fileSize = snapshot.length();
+        if (!isLegacyFormat && fileSize >= MAPPING_THRESHOLD && fileSize <= Integer.MAX_VALUE) {
+            MappedTaskList mappedList = MappedTaskList.open(snapshot);
+            if (snapshot.equals(this.backup)) {
+                // The backup is the last resort, so it is checked before anything is read from it.
+                mappedList.verifyChecksum();
+            } else {
+                checkInBackground(mappedList);
+            }
+            snapshotSequence = mappedList.getSequence();
+            list = mappedList;
+        } else {
+            CompactTaskList compactList = new CompactTaskList();
+            list = compactList;
+            snapshotSequence = snapshot.exists()
+                    ? readSnapshot(snapshot, list, new PrefixPublisher(compactList, progress, prefix))
+                    : 0;
+        }
+        sequence = replayJournal(this.backupJournal, list, snapshotSequence);
+        sequence = replayJournal(this.compactingJournal, list, sequence);
+        sequence = replayJournal(this.journal, list, sequence);
+        return list;
+    }
+
+    /**
+     * Verifies the checksum of a mapped save file on a thread of its own, warning if it is damaged.
+     * The result is waited for before the save file is next kept as the backup.
+     */
+    private void checkInBackground(MappedTaskList mappedList) {
+        snapshotCheck = new FutureTask<>(() -> {
+            try {
+                mappedList.verifyChecksum();
+                return true;
+            } catch (DukeException e) {
+                System.out.println("\uD83D\uDE14 OOPS!!! The save file is damaged, so your tasks may not be "
+                        + "as you left them! The previous save is kept in " + this.backup.getName() + ".");
+                return false;
+            }
+        });
+        Thread thread = new Thread(snapshotCheck, "snapshot-check");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Checks if the loaded save file is in the older text format, which is
+     * replaced by the binary format the next time the save file is written.
+     * @return True if the save file is a text file.
+     */
+    public boolean isLegacyFormat() {
+        return this.isLegacyFormat;
+    }
+
+    /**
+     * Writes all current tasks on the save file and clears the journal.
+     */
+    public synchronized void saveData(List<Task> taskList) throws IOException {
+        try {
+            writeSnapshot(taskList, sequence);
+            snapshotSequence = sequence;
+            isLegacyFormat = false;
+            journalWriter.discard();
+            Files.deleteIfExists(this.journal.toPath());
+            Files.deleteIfExists(this.compactingJournal.toPath());
+            Files.deleteIfExists(this.backupJournal.toPath());
+        } catch (IOException e) {
+            throw new IOException("Something went wrong: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts the save file over with no tasks, after it could not be loaded. The save file, its backup and
+     * the journals are moved aside with the suffix ".corrupt", so they can still be recovered by hand, and an
+     * empty save file takes their place, so the changes recorded from now on follow on from it.
+     */
+    public synchronized void startOver() throws IOException {
+        boolean isMovedAside = false;
+        File[] saves = {this.file, this.backup, this.journal, this.compactingJournal, this.backupJournal};
+        for (File saved : saves) {
+            if (saved.exists()) {
+                Files.move(saved.toPath(), Path.of(saved.getPath() + CORRUPT_SUFFIX),
+                        StandardCopyOption.REPLACE_EXISTING);
+                isMovedAside = true;
+            }
+        }
+        if (isMovedAside) {
+            System.out.println("\uD83D\uDE14 OOPS!!! The save file could not be loaded, so I have started a new "
+                    + "one! The old one is kept in " + this.file.getName() + CORRUPT_SUFFIX + ".");
+        }
+        sequence = 0;
+        snapshotCheck = null;
+        isSnapshotCorrupt = false;
+        saveData(new CompactTaskList());
+    }
+
+    /**
+     * Stops recording changes in the journal until {@link #endBatch(List)}, which saves them all at once.
+     * Changes made during the batch are lost if the application stops before the batch ends.
+     */
+    public synchronized void beginBatch() {
+        isBatching = true;
+    }
+
+    /**
+     * Saves the changes made since {@link #beginBatch()} as a single snapshot,
+     * and goes back to recording each change in the journal.
+     * @param taskList Tasks after the changes in the batch.
+     */
+    public synchronized void endBatch(List<Task> taskList) throws IOException {
+        try {
+            saveData(taskList);
+        } finally {
+            isBatching = false;
+        }
+    }
+
+    /**
+     * Records a task added to the end of the list.
+     * @param task Task that was added.
+     */
+    public void saveAdd(Task task) throws IOException {
+        appendRecord(RECORD_ADD + " | " + task.saveData());
+    }
+
+    /**
+     * Records a task inserted at an index.
+     * @param index Index the task was inserted at.
+     * @param task Task that was inserted.
+     */
+    public void saveInsert(int index, Task task) throws IOException {
+        appendRecord(RECORD_INSERT + " | " + index + " | " + task.saveData());
+    }
+
+    /**
+     * Records the removal of the task at an index.
+     * @param index Index of the task that was removed.
+     */
+    public void saveDelete(int index) throws IOException {
+        appendRecord(RECORD_DELETE + " | " + index);
+    }
+
+    /**
+     * Records a change to the "marked" status of the task at an index.
+     * @param index Index of the task that was updated.
+     * @param isDone New status of the task.
+     */
+    public void saveMark(int index, boolean isDone) throws IOException {
+        appendRecord(RECORD_MARK + " | " + index + " | " + (isDone ? "1" : "0"));
+    }
+
+    /**
+     * Records the removal of the tasks at many indexes as a single record.
+     * @param indexes Distinct indexes of the tasks that were removed, in ascending order.
+     */
+    public void saveDeleteAll(int[] indexes) throws IOException {
+        if (indexes.length == 1) {
+            saveDelete(indexes[0]);
+        } else if (indexes.length > 1) {
+            appendRecord(RECORD_DELETE_ALL + " | " + formatRanges(indexes));
+        }
+    }
+
+    /**
+     * Records tasks inserted at many indexes as a single record, where each task is written
+     * after the length of its line, e.g. "IR | 0,5-6 | 12:T | 0 | read".
+     * @param indexes Distinct indexes the tasks were inserted at, in ascending order.
+     * @param tasks Tasks that were inserted, in the same order.
+     */
+    public void saveInsertAll(int[] indexes, List<Task> tasks) throws IOException {
+        if (indexes.length == 1) {
+            saveInsert(indexes[0], tasks.get(0));
+        } else if (indexes.length > 1) {
+            appendRecord(RECORD_INSERT_ALL + " | " + formatRanges(indexes) + " | " + formatTasks(tasks));
+        }
+    }
+
+    /**
+     * Records a task put in place of the task at an index.
+     * @param index Index of the task that was replaced.
+     * @param task Task now at the index.
+     */
+    public void saveSet(int index, Task task) throws IOException {
+        appendRecord(RECORD_SET + " | " + index + " | " + task.saveData());
+    }
+
+    /**
+     * Records tasks put in place of the tasks at many indexes as a single record, written as
+     * for {@link #saveInsertAll(int[], List)}.
+     * @param indexes Distinct indexes of the tasks that were replaced, in ascending order.
+     * @param tasks Tasks now at the indexes, in the same order.
+     */
+    public void saveSetAll(int[] indexes, List<Task> tasks) throws IOException {
+        if (indexes.length == 1) {
+            saveSet(indexes[0], tasks.get(0));
+        } else if (indexes.length > 1) {
+            appendRecord(RECORD_SET_ALL + " | " + formatRanges(indexes) + " | " + formatTasks(tasks));
+        }
+    }
+
+    /**
+     * Records a change to the "marked" status of the tasks at many indexes as a single record.
+     * @param indexes Distinct indexes of the tasks that were updated, in ascending order.
+     * @param isDone New status of the tasks.
+     */
+    public void saveMarkAll(int[] indexes, boolean isDone) throws IOException {
+        if (indexes.length == 1) {
+            saveMark(indexes[0], isDone);
+        } else if (indexes.length > 1) {
+            appendRecord(RECORD_MARK_ALL + " | " + formatRanges(indexes) + " | " + (isDone ? "1" : "0"));
+        }
+    }
+
+    /**
+     * Parses a single line of the save file into a task.
+     * @param data Line of the save file.
+     * @return Task described by the line.
+     * @throws DukeException Line is not in the save file format.
+     */
+    public static Task parseTask(String data) throws DukeException {
+        String[] dataDetails = data.split(" \\| ");
+        if (dataDetails.length < 3) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted, "
+                    + "please delete the file and retry!");
+        }
+        String command = dataDetails[0];
+        boolean isMarked; // 1 = marked, 0 = unmarked
+        String description = dataDetails[2];
+        Task task;
+
+        if (!dataDetails[1].equals("1")) {
+            if (!dataDetails[1].equals("0")) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted, "
+                        + "please delete the file and retry!");
+            } else {
+                isMarked = false;
+            }
+        } else {
+            isMarked = true;
+        }
+
+        switch (command) {
+        case("T"):
+            Date date = Parser.parseDate("9999-12-31");
+            task = new Todo(description, date);
+            break;
+        case("D"):
+            if (dataDetails.length != 4 && dataDetails.length != 5) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! A duke.task.Deadline task is corrupted!");
+            }
+            Date deadlineDate = Parser.parseDateSave(dataDetails[3]);
+            task = dataDetails.length == 4
+                    ? new Deadline(description, deadlineDate)
+                    : new RecurringDeadline(description, deadlineDate, Parser.parseRecurrenceSave(dataDetails[4]));
+            break;
+        case("E"):
+            if (dataDetails.length != 4 && dataDetails.length != 5) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! An duke.task.Event task is corrupted!");
+            }
+            Date eventDate = Parser.parseDateSave(dataDetails[3]);
+            task = dataDetails.length == 4
+                    ? new Event(description, eventDate)
+                    : new RecurringEvent(description, eventDate, Parser.parseRecurrenceSave(dataDetails[4]));
+            break;
+        default:
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted, "
+                    + "please delete the file and retry!");
+        }
+
+        if (isMarked) {
+            task.markAsDone();
+        }
+        return task;
+    }
+
+    /**
+     * Reads a snapshot file into the list, in either the binary or the text format.
+     * @return Sequence number of the last journal record contained in the snapshot.
+     */
+    private long readSnapshot(File snapshot, List<Task> list, DoubleConsumer progress)
+            throws DukeException, IOException {
+        if (BinaryFormat.isBinary(snapshot)) {
+            return BinaryFormat.read(snapshot, list, progress);
+        }
+        return readTextSnapshot(snapshot, list, progress);
+    }
+
+    /**
+     * Reads a snapshot in the text format line by line, or on many threads if it is long enough
+     * for parsing to take longer than splitting it up.
+     */
+    private long readTextSnapshot(File snapshot, List<Task> list, DoubleConsumer progress)
+            throws DukeException, IOException {
+        if (snapshot.length() >= PARALLEL_LOAD_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            return ParallelTextReader.read(snapshot, list, progress);
+        }
+        long snapshotSeq = 0;
+        long length = Math.max(snapshot.length(), 1);
+        long charsRead = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(snapshot))) {
             String data = br.readLine();
+            if (data != null && data.startsWith(SEQUENCE_HEADER)) {
+                snapshotSeq = parseSequence(data.substring(SEQUENCE_HEADER.length()));
+                data = br.readLine();
+            }
 
             while (data != null) {
-                String[] dataDetails = data.split(" \\| ");
-                String command = dataDetails[0];
-                boolean isMarked; // 1 = marked, 0 = unmarked
-                String description = dataDetails[2];
-                Task task;
-
-                if (!dataDetails[1].equals("1")) {
-                    if (!dataDetails[1].equals("0")) {
-                        throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted, "
-                                + "please delete the file and retry!");
-                    } else {
-                        isMarked = false;
-                    }
-                } else {
-                    isMarked = true;
+                list.add(parseTask(data));
+                charsRead += data.length() + 1;
+                if (list.size() % PROGRESS_INTERVAL == 0) {
+                    progress.accept(Math.min((double) charsRead / length, 1));
                 }
+                data = br.readLine();
+            }
+        }
+        return snapshotSeq;
+    }
 
-                switch (command) {
-                case("T"):
-                    Date date = Parser.parseDate("9999-12-31");
-                    task = new Todo(description, date);
+    /**
+     * Applies the records of a journal that come after the given sequence number.
+     * Replay stops at a gap in the sequence numbers, as the records after it do not follow on
+     * from the list, which happens when the list was loaded from a backup.
+     * The last record is discarded if a crash may have cut it short, i.e. if it does not end in a newline
+     * or cannot be applied.
+     * @return Sequence number of the last record applied.
+     */
+    private long replayJournal(File log, List<Task> list, long afterSeq) throws DukeException, IOException {
+        long lastSeq = afterSeq;
+        if (!log.exists()) {
+            return lastSeq;
+        }
+
+        boolean isLastRecordComplete = endsWithNewline(log);
+        try (BufferedReader br = new BufferedReader(new FileReader(log))) {
+            String data = br.readLine();
+            while (data != null) {
+                String next = br.readLine();
+                if (next == null && !isLastRecordComplete) {
                     break;
-                case("D"):
-                    if (dataDetails.length != 4) {
-                        throw new DukeException("\uD83D\uDE14 OOPS!!! A duke.task.Deadline task is corrupted!");
+                }
+                try {
+                    String[] record = data.split(" \\| ", 3);
+                    if (record.length < 3) {
+                        throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
                     }
-                    Date deadlineDate = Parser.parseDateSave(dataDetails[3]);
-                    task = new Deadline(description, deadlineDate);
-                    break;
-                case("E"):
-                    if (dataDetails.length != 4) {
-                        throw new DukeException("\uD83D\uDE14 OOPS!!! An duke.task.Event task is corrupted!");
+                    long seq = parseSequence(record[0]);
+                    if (seq > lastSeq + 1) {
+                        break;
                     }
-                    Date eventDate = Parser.parseDateSave(dataDetails[3]);
-                    task = new Event(description, eventDate);
-                    break;
-                default:
-                    throw new DukeException("\uD83D\uDE14 OOPS!!! The save file is corrupted, "
-                            + "please delete the file and retry!");
+                    if (seq > lastSeq) {
+                        applyRecord(record[1], record[2], list);
+                        lastSeq = seq;
+                    }
+                } catch (DukeException e) {
+                    if (next == null) {
+                        // A torn final record from a crash mid-append is discarded.
+                        break;
+                    }
+                    throw e;
                 }
+                data = next;
+            }
+        }
+        return lastSeq;
+    }
 
-                if (isMarked) {
-                    task.markAsDone();
+    private static boolean endsWithNewline(File log) throws IOException {
+        try (RandomAccessFile in = new RandomAccessFile(log, "r")) {
+            if (in.length() == 0) {
+                return true;
+            }
+            in.seek(in.length() - 1);
+            return in.read() == '\n';
+        }
+    }
+
+    private void applyRecord(String type, String payload, List<Task> list) throws DukeException {
+        try {
+            switch (type) {
+            case(RECORD_ADD):
+                list.add(parseTask(payload));
+                break;
+            case(RECORD_DELETE):
+                list.remove(Integer.parseInt(payload));
+                break;
+            case(RECORD_INSERT):
+                String[] insertDetails = payload.split(" \\| ", 2);
+                list.add(Integer.parseInt(insertDetails[0]), parseTask(insertDetails[1]));
+                break;
+            case(RECORD_MARK):
+                String[] markDetails = payload.split(" \\| ");
+                markTask(list, Integer.parseInt(markDetails[0]), markDetails[1].equals("1"));
+                break;
+            case(RECORD_DELETE_ALL):
+                TaskLists.removeAll(list, parseRanges(payload));
+                break;
+            case(RECORD_MARK_ALL):
+                String[] markAllDetails = payload.split(" \\| ");
+                int[] markIndexes = parseRanges(markAllDetails[0]);
+                // Checked before any task is marked, so a record that cannot be applied changes nothing.
+                if (markIndexes[markIndexes.length - 1] >= list.size() || markAllDetails.length != 2) {
+                    throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
                 }
+                for (int index : markIndexes) {
+                    markTask(list, index, markAllDetails[1].equals("1"));
+                }
+                break;
+            case(RECORD_INSERT_ALL):
+                String[] insertAllDetails = payload.split(" \\| ", 2);
+                int[] insertIndexes = parseRanges(insertAllDetails[0]);
+                List<Task> inserted = parseTasks(insertAllDetails[1]);
+                if (inserted.size() != insertIndexes.length
+                        || insertIndexes[insertIndexes.length - 1] >= list.size() + inserted.size()) {
+                    throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+                }
+                TaskLists.insertAll(list, insertIndexes, inserted);
+                break;
+            case(RECORD_SET):
+                String[] setDetails = payload.split(" \\| ", 2);
+                list.set(Integer.parseInt(setDetails[0]), parseTask(setDetails[1]));
+                break;
+            case(RECORD_SET_ALL):
+                String[] setAllDetails = payload.split(" \\| ", 2);
+                int[] setIndexes = parseRanges(setAllDetails[0]);
+                List<Task> tasks = parseTasks(setAllDetails[1]);
+                if (tasks.size() != setIndexes.length || setIndexes[setIndexes.length - 1] >= list.size()) {
+                    throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+                }
+                for (int i = 0; i < setIndexes.length; i++) {
+                    list.set(setIndexes[i], tasks.get(i));
+                }
+                break;
+            default:
+                throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+            }
+        } catch (IndexOutOfBoundsException | NumberFormatException e) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+        }
+    }
 
-                list.add(task);
+    /**
+     * Reads tasks written by {@link #saveInsertAll(int[], List)}, each after the length of its line.
+     */
+    private static List<Task> parseTasks(String input) throws DukeException {
+        List<Task> tasks = new ArrayList<>();
+        int start = 0;
+        while (start < input.length()) {
+            int colon = input.indexOf(':', start);
+            if (colon < 0) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+            }
+            int end = colon + 1 + Integer.parseInt(input.substring(start, colon));
+            tasks.add(parseTask(input.substring(colon + 1, end)));
+            start = end;
+        }
+        return tasks;
+    }
 
-                data = br.readLine();
+    /**
+     * Writes each task after the length of its line, e.g. "12:T | 0 | read".
+     */
+    private static String formatTasks(List<Task> tasks) {
+        StringBuilder data = new StringBuilder();
+        for (Task task : tasks) {
+            String line = task.saveData();
+            data.append(line.length()).append(':').append(line);
+        }
+        return data.toString();
+    }
+
+    private static void markTask(List<Task> list, int index, boolean isDone) {
+        Task task = list.get(index);
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsUndone();
+        }
+        list.set(index, task);
+    }
+
+    /**
+     * Writes indexes in ascending order as ranges, e.g. "9-499,600".
+     */
+    private static String formatRanges(int[] indexes) {
+        StringBuilder ranges = new StringBuilder();
+        int start = 0;
+        for (int i = 1; i <= indexes.length; i++) {
+            if (i < indexes.length && indexes[i] == indexes[i - 1] + 1) {
+                continue;
+            }
+            if (ranges.length() > 0) {
+                ranges.append(',');
             }
+            ranges.append(indexes[start]);
+            if (i - 1 > start) {
+                ranges.append('-').append(indexes[i - 1]);
+            }
+            start = i;
+        }
+        return ranges.toString();
+    }
+
+    /**
+     * Reads indexes written by {@link #formatRanges(int[])}, checking that they are in ascending order.
+     */
+    private static int[] parseRanges(String input) throws DukeException {
+        String[] ranges = input.split(",");
+        int[] bounds = new int[ranges.length * 2];
+        int count = 0;
+        for (int i = 0; i < ranges.length; i++) {
+            int dash = ranges[i].indexOf('-');
+            bounds[2 * i] = Integer.parseInt(dash < 0 ? ranges[i] : ranges[i].substring(0, dash));
+            bounds[2 * i + 1] = dash < 0 ? bounds[2 * i] : Integer.parseInt(ranges[i].substring(dash + 1));
+            if (bounds[2 * i] > bounds[2 * i + 1] || (i > 0 && bounds[2 * i] <= bounds[2 * i - 1])) {
+                throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+            }
+            count += bounds[2 * i + 1] - bounds[2 * i] + 1;
+        }
+
+        int[] indexes = new int[count];
+        int next = 0;
+        for (int i = 0; i < bounds.length; i += 2) {
+            for (int index = bounds[i]; index <= bounds[i + 1]; index++) {
+                indexes[next++] = index;
+            }
+        }
+        return indexes;
+    }
+
+    static long parseSequence(String input) throws DukeException {
+        try {
+            return Long.parseLong(input.trim());
+        } catch (NumberFormatException e) {
+            throw new DukeException("\uD83D\uDE14 OOPS!!! The save journal is corrupted!");
+        }
+    }
+
+    private synchronized void appendRecord(String record) throws IOException {
+        if (isBatching) {
+            return;
+        }
+        sequence++;
+        if (journalWriter.append(sequence + " | " + record)) {
+            checkCompaction();
+        }
+    }
+
+    private synchronized void checkCompaction() {
+        if (this.journal.length() <= compactionThreshold) {
+            return;
+        }
+        try {
+            scheduleCompaction();
+        } catch (IOException e) {
+            System.out.println("Something went wrong while compacting the save journal: " + e.getMessage());
         }
-        System.out.println("I have reloaded your saved file \uD83D\uDE0A ✨!");
-        return list;
     }
 
     /**
-     * Writes all current tasks on the save file.
+     * Moves the journal aside and folds it into a new snapshot on the compactor thread.
+     * New records keep going to a fresh journal in the meantime.
      */
-    public void saveData(List<Task> taskList) throws IOException {
-        FileWriter fw = new FileWriter(this.file);
+    private synchronized void scheduleCompaction() throws IOException {
+        if (isCompacting) {
+            return;
+        }
+        if (!this.compactingJournal.exists()) {
+            synchronized (journalWriter) {
+                Files.move(this.journal.toPath(), this.compactingJournal.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        isCompacting = true;
+        compactor.submit(this::compact);
+    }
+
+    /**
+     * Folds the journal that was moved aside into a new snapshot. The snapshot is written to a temporary file
+     * of its own, as saves may write theirs meanwhile, and only put in place if no save has happened since.
+     */
+    private void compact() {
+        File temp = null;
         try {
-            for (Task task : taskList) {
-                String data = task.saveData();
-                fw.write(data + System.lineSeparator());
+            long startSequence;
+            synchronized (this) {
+                startSequence = snapshotSequence;
             }
-            fw.close();
+            List<Task> list = new CompactTaskList();
+            long seq = this.file.exists() ? readSnapshot(this.file, list, share -> { }) : 0;
+            seq = replayJournal(this.compactingJournal, list, seq);
+            temp = Files.createTempFile(this.file.getAbsoluteFile().getParentFile().toPath(),
+                    this.file.getName() + ".", TEMP_SUFFIX).toFile();
+            writeTemp(list, seq, temp);
+
+            synchronized (this) {
+                if (snapshotSequence != startSequence || snapshotSequence >= seq
+                        || !this.compactingJournal.exists()) {
+                    // A full save already covers everything in the compacted journal.
+                    Files.deleteIfExists(this.compactingJournal.toPath());
+                } else {
+                    replaceSnapshot(temp);
+                    snapshotSequence = seq;
+                    isLegacyFormat = false;
+                    // Kept so the backup, which the compacted journal follows on from, loses nothing.
+                    Files.move(this.compactingJournal.toPath(), this.backupJournal.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            }
+        } catch (DukeException | IOException e) {
+            System.out.println("Something went wrong while compacting the save journal: " + e.getMessage());
+        } finally {
+            synchronized (this) {
+                isCompacting = false;
+            }
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp.toPath());
+                } catch (IOException e) {
+                    // A leftover temporary file is harmless, as each compaction writes to a new one.
+                }
+            }
+        }
+    }
+
+    private void writeSnapshot(List<Task> taskList, long seq) throws IOException {
+        File temp = new File(this.file.getPath() + TEMP_SUFFIX);
+        writeTemp(taskList, seq, temp);
+        replaceSnapshot(temp);
+    }
+
+    /**
+     * Renames a complete snapshot over the save file, keeping the save file it replaces as the backup.
+     * The backup is a hard link where the file system allows it, so the save file is never missing.
+     * A damaged save file is not kept, so the backup it was loaded from is not lost,
+     * and a save file still being checked in the background is waited for.
+     * @param temp Snapshot already forced to the disk.
+     */
+    private synchronized void replaceSnapshot(File temp) throws IOException {
+        if (snapshotCheck != null) {
+            try {
+                isSnapshotCorrupt |= !snapshotCheck.get();
+            } catch (ExecutionException e) {
+                isSnapshotCorrupt = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                isSnapshotCorrupt = true;
+            }
+            snapshotCheck = null;
+        }
+        if (this.file.exists() && !isSnapshotCorrupt) {
+            Files.deleteIfExists(this.backup.toPath());
+            try {
+                Files.createLink(this.backup.toPath(), this.file.toPath());
+            } catch (UnsupportedOperationException | IOException e) {
+                Files.copy(this.file.toPath(), this.backup.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(temp.toPath(), this.file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        isSnapshotCorrupt = false;
+        syncDirectory();
+    }
+
+    /**
+     * Forces the renames in the save directory to the disk, where the platform allows a directory to be opened.
+     */
+    private void syncDirectory() {
+        File parent = this.file.getAbsoluteFile().getParentFile();
+        try (FileChannel channel = FileChannel.open(parent.toPath(), StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            throw new IOException("Something went wrong: " + e.getMessage());
+            // Directories cannot be opened on Windows, where the rename itself is durable.
+        }
+    }
+
+    private void writeTemp(List<Task> taskList, long seq, File temp) throws IOException {
+        long start = System.nanoTime();
+        BinaryFormat.write(temp, taskList, seq);
+        long elapsed = System.nanoTime() - start;
+        Metrics.get().recordSave(elapsed, temp.length());
+    }
+
+    /**
+     * Passes on the progress of reading a snapshot, and hands out a copy of the tasks read so far
+     * each time their number has doubled. Progress is reported on the thread reading the snapshot
+     * between tasks, so the copy is always of whole tasks.
+     */
+    private static class PrefixPublisher implements DoubleConsumer {
+        private final CompactTaskList list;
+        private final DoubleConsumer progress;
+        private final Consumer<List<Task>> prefix;
+        private int nextSize = PROGRESS_INTERVAL;
+
+        private PrefixPublisher(CompactTaskList list, DoubleConsumer progress, Consumer<List<Task>> prefix) {
+            this.list = list;
+            this.progress = progress;
+            this.prefix = prefix;
+        }
+
+        @Override
+        public void accept(double share) {
+            progress.accept(share);
+            if (list.size() >= nextSize && share < 1) {
+                prefix.accept(list.copy());
+                nextSize = list.size() * 2;
+            }
         }
     }
 }
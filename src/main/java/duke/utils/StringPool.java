@@ -0,0 +1,173 @@
+package duke.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stores each distinct string once, as UTF-8 bytes, and counts the references to it.
+ * Strings are found through an open-addressing table of ids, so the pool holds no entry
+ * or boxed objects besides the bytes themselves.
+ * @author Jason
+ */
+class StringPool {
+    private static final int EMPTY = -1;
+    private static final int REMOVED = -2;
+    private static final int MIN_TABLE_LENGTH = 32;
+
+    private byte[][] values = new byte[16][];
+    private int[] counts = new int[16];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int nextId;
+    private int[] table = emptyTable(MIN_TABLE_LENGTH);
+    private int usedSlots;
+
+    /**
+     * Adds a reference to a string, storing it if it is not in the pool yet.
+     * @param value String to be stored.
+     * @return Id of the string in the pool.
+     */
+    int intern(String value) {
+        return intern(value.getBytes(StandardCharsets.UTF_8), 1);
+    }
+
+    /**
+     * Adds references to a string given as UTF-8 bytes, storing it if it is not in the pool yet.
+     * @param bytes UTF-8 bytes of the string, which the pool may keep.
+     * @param references Number of references to add.
+     * @return Id of the string in the pool.
+     */
+    int intern(byte[] bytes, int references) {
+        int mask = table.length - 1;
+        int slot = hashOf(bytes) & mask;
+        int removedSlot = -1;
+        while (table[slot] != EMPTY) {
+            int id = table[slot];
+            if (id == REMOVED) {
+                removedSlot = removedSlot < 0 ? slot : removedSlot;
+            } else if (Arrays.equals(values[id], bytes)) {
+                counts[id] += references;
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int id = newId();
+        values[id] = bytes;
+        counts[id] = references;
+        if (removedSlot >= 0) {
+            table[removedSlot] = id;
+        } else {
+            table[slot] = id;
+            usedSlots++;
+            if (usedSlots * 2 > table.length) {
+                rehash();
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Gives the string with an id.
+     */
+    String get(int id) {
+        return new String(values[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gives the UTF-8 bytes of the string with an id, which must not be changed.
+     */
+    byte[] bytesOf(int id) {
+        return values[id];
+    }
+
+    /**
+     * Gives the number of references to the string with an id.
+     */
+    int referencesOf(int id) {
+        return counts[id];
+    }
+
+    /**
+     * Gives a number greater than every id in use.
+     */
+    int idBound() {
+        return nextId;
+    }
+
+    /**
+     * Drops a reference to a string, removing it from the pool once nothing refers to it.
+     */
+    void release(int id) {
+        if (--counts[id] > 0) {
+            return;
+        }
+        int mask = table.length - 1;
+        int slot = hashOf(values[id]) & mask;
+        while (table[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = REMOVED;
+        values[id] = null;
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeIds.length * 2);
+        }
+        freeIds[freeCount++] = id;
+    }
+
+    /**
+     * Gives a pool with the same strings and ids, which may be changed without affecting this pool.
+     */
+    StringPool copy() {
+        StringPool copy = new StringPool();
+        copy.values = values.clone();
+        copy.counts = counts.clone();
+        copy.freeIds = freeIds.clone();
+        copy.freeCount = freeCount;
+        copy.nextId = nextId;
+        copy.table = table.clone();
+        copy.usedSlots = usedSlots;
+        return copy;
+    }
+
+    private int newId() {
+        if (freeCount > 0) {
+            return freeIds[--freeCount];
+        }
+        if (nextId == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+            counts = Arrays.copyOf(counts, counts.length * 2);
+        }
+        return nextId++;
+    }
+
+    /**
+     * Rebuilds the table without the removed slots, at four times the number of strings.
+     */
+    private void rehash() {
+        int liveCount = nextId - freeCount;
+        table = emptyTable(Math.max(Integer.highestOneBit(liveCount) * 4, MIN_TABLE_LENGTH));
+        int mask = table.length - 1;
+        for (int id = 0; id < nextId; id++) {
+            if (values[id] != null) {
+                int slot = hashOf(values[id]) & mask;
+                while (table[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id;
+            }
+        }
+        usedSlots = liveCount;
+    }
+
+    private static int hashOf(byte[] bytes) {
+        int hash = Arrays.hashCode(bytes);
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int[] emptyTable(int length) {
+        int[] emptyTable = new int[length];
+        Arrays.fill(emptyTable, EMPTY);
+        return emptyTable;
+    }
+}
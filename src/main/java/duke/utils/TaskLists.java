@@ -0,0 +1,107 @@
+package duke.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+import duke.task.Task;
+
+/**
+ * Provides operations on the lists backing a TaskList, whichever kind of list it is.
+ * @author Jason
+ */
+public class TaskLists {
+
+    /**
+     * Gives a view of the tasks in a list as they are now, which later changes to the list do not affect.
+     * Compact and mapped lists share their storage with the view until they next change,
+     * while other lists are copied.
+     * @param list List to take the view of.
+     * @return Unmodifiable list of the tasks.
+     */
+    public static List<Task> snapshot(List<Task> list) {
+        if (list instanceof CompactTaskList) {
+            return ((CompactTaskList) list).snapshot();
+        }
+        if (list instanceof MappedTaskList) {
+            return ((MappedTaskList) list).snapshot();
+        }
+        // Copied through a compact list, as the tasks themselves are changed when marked.
+        CompactTaskList copy = new CompactTaskList(list.size());
+        copy.addAll(list);
+        return Collections.unmodifiableList(copy);
+    }
+
+    /**
+     * Removes the tasks at many indexes in a single pass over the list, instead of shifting
+     * the rest of the list once per task.
+     * @param list List to remove the tasks from.
+     * @param indexes Distinct indexes of the tasks in ascending order.
+     */
+    public static void removeAll(List<Task> list, int[] indexes) {
+        if (indexes.length == 0) {
+            return;
+        }
+        if (list instanceof CompactTaskList) {
+            CompactTaskList compactList = (CompactTaskList) list;
+            compactList.removeAll(indexes);
+            return;
+        }
+        if (list instanceof MappedTaskList) {
+            MappedTaskList mappedList = (MappedTaskList) list;
+            mappedList.removeAll(indexes);
+            return;
+        }
+
+        int size = list.size();
+        if (indexes[indexes.length - 1] >= size) {
+            throw new IndexOutOfBoundsException("Index " + indexes[indexes.length - 1]
+                    + " out of bounds for length " + size);
+        }
+        int kept = indexes[0];
+        int next = 0;
+        for (int i = indexes[0]; i < size; i++) {
+            if (next < indexes.length && indexes[next] == i) {
+                next++;
+            } else {
+                list.set(kept++, list.get(i));
+            }
+        }
+        list.subList(kept, size).clear();
+    }
+
+    /**
+     * Inserts tasks at many indexes in a single pass over the list, instead of shifting
+     * the rest of the list once per task.
+     * @param list List to insert the tasks into.
+     * @param indexes Distinct indexes the tasks end up at, in ascending order.
+     * @param tasks Tasks to insert, in the same order.
+     */
+    public static void insertAll(List<Task> list, int[] indexes, List<Task> tasks) {
+        if (indexes.length == 0) {
+            return;
+        }
+        if (list instanceof CompactTaskList) {
+            CompactTaskList compactList = (CompactTaskList) list;
+            compactList.insertAll(indexes, tasks);
+            return;
+        }
+        if (list instanceof MappedTaskList) {
+            MappedTaskList mappedList = (MappedTaskList) list;
+            mappedList.insertAll(indexes, tasks);
+            return;
+        }
+
+        int size = list.size();
+        int count = indexes.length;
+        if (indexes[count - 1] >= size + count) {
+            throw new IndexOutOfBoundsException("Index " + indexes[count - 1]
+                    + " out of bounds for length " + (size + count));
+        }
+        list.addAll(tasks);
+        int next = count - 1;
+        int from = size - 1;
+        for (int i = size + count - 1; next >= 0; i--) {
+            list.set(i, indexes[next] == i ? tasks.get(next--) : list.get(from--));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package duke.utils;
+
+import java.nio.CharBuffer;
+
+/**
+ * Reads a line of input word by word in a single pass, keeping only the offsets of the current word.
+ * Parts of the input are copied out only when a command needs them as Strings.
+ * @author Jason
+ */
+public class Tokenizer {
+    private static final int MAX_NUMBER_DIGITS = 9;
+
+    private final CharSequence input;
+    private int position;
+    private int wordStart;
+    private int wordEnd;
+
+    /**
+     * Constructs a Tokenizer at the start of the input.
+     * @param input Line of input to be read.
+     */
+    public Tokenizer(CharSequence input) {
+        this.input = input;
+    }
+
+    /**
+     * Moves to the next word, skipping the spaces before it.
+     * @return True if there was another word.
+     */
+    public boolean nextWord() {
+        int start = position;
+        while (start < input.length() && input.charAt(start) == ' ') {
+            start++;
+        }
+        int end = start;
+        while (end < input.length() && input.charAt(end) != ' ') {
+            end++;
+        }
+        wordStart = start;
+        wordEnd = end;
+        position = end;
+        return start < end;
+    }
+
+    public int getWordStart() {
+        return this.wordStart;
+    }
+
+    public int getWordEnd() {
+        return this.wordEnd;
+    }
+
+    /**
+     * Reads the current word as a number.
+     * @return Value of the word, or -1 if it is not made of digits only.
+     */
+    public int wordAsNumber() {
+        if (wordStart == wordEnd || wordEnd - wordStart > MAX_NUMBER_DIGITS) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = wordStart; i < wordEnd; i++) {
+            char c = input.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Checks if there is anything after the current word and the space following it.
+     * @return True if there is more input.
+     */
+    public boolean hasRest() {
+        return position < input.length();
+    }
+
+    /**
+     * Gives the offset where the rest of the input starts, after the current word and the space following it.
+     * @return Offset of the rest of the input.
+     */
+    public int getRestStart() {
+        return Math.min(position + 1, input.length());
+    }
+
+    /**
+     * Gives the rest of the input, after the current word and the space following it.
+     * @return Rest of the input, or null if there is none.
+     */
+    public String rest() {
+        return hasRest() ? substring(getRestStart(), input.length()) : null;
+    }
+
+    /**
+     * Finds a delimiter in the rest of the input.
+     * @param delimiter Text to be found.
+     * @return Offset of the first occurrence of the delimiter, or -1 if there is none.
+     */
+    public int indexOf(String delimiter) {
+        int last = input.length() - delimiter.length();
+        for (int i = getRestStart(); i <= last; i++) {
+            int matched = 0;
+            while (matched < delimiter.length() && input.charAt(i + matched) == delimiter.charAt(matched)) {
+                matched++;
+            }
+            if (matched == delimiter.length()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies part of the input into a String.
+     */
+    public String substring(int start, int end) {
+        return input.subSequence(start, end).toString();
+    }
+
+    /**
+     * Gives a view of part of the input, without copying it.
+     */
+    public CharSequence slice(int start, int end) {
+        return CharBuffer.wrap(input, start, end);
+    }
+
+    public int length() {
+        return input.length();
+    }
+
+    public char charAt(int index) {
+        return input.charAt(index);
+    }
+}
@@ -0,0 +1,248 @@
+package duke.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Maps the trigrams of lowercase words, padded as in "  word ", to the ids of the tasks whose descriptions
+ * contain them, so descriptions close to a misspelt query can be found without comparing it to every task.
+ * The ids of each trigram are kept in ascending order, so a search only walks the shortest lists of the
+ * trigrams of the query and looks the tasks it finds up in the longer ones.
+ * Removed tasks are only flagged, and their postings are dropped once they make up half of the index.
+ * @author Jason
+ */
+public class TrigramIndex {
+    /** Share of the trigrams of a query that a description must contain to be found. */
+    private static final double MIN_SIMILARITY = 0.4;
+
+    private final Map<Long, Postings> postings = new HashMap<>();
+    private final BitSet removed = new BitSet();
+    private int[] trigramCounts = new int[16];
+    private long postingCount;
+    private long removedPostingCount;
+
+    /**
+     * Indexes the description of a task.
+     * @param id Id of the task, which must not have been indexed before.
+     * @param description Description of the task.
+     */
+    public void add(int id, String description) {
+        long[] trigrams = trigramsOf(description);
+        if (id >= trigramCounts.length) {
+            trigramCounts = Arrays.copyOf(trigramCounts, Math.max(id + 1, trigramCounts.length * 2));
+        }
+        trigramCounts[id] = trigrams.length;
+        for (long trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new Postings()).add(id);
+        }
+        postingCount += trigrams.length;
+    }
+
+    /**
+     * Removes a task from the index.
+     * @param id Id of the task.
+     */
+    public void remove(int id) {
+        if (id >= trigramCounts.length || removed.get(id)) {
+            return;
+        }
+        removed.set(id);
+        removedPostingCount += trigramCounts[id];
+        trigramCounts[id] = 0;
+        if (removedPostingCount * 2 > postingCount) {
+            purge();
+        }
+    }
+
+    /**
+     * Finds the tasks whose descriptions are most similar to a query.
+     * Tasks are ranked by the share of the trigrams of the query found in their description, and then by
+     * how few other trigrams the description has, so a close and short description comes first.
+     * @param query Query to be matched, which may be misspelt.
+     * @param limit Maximum number of tasks to find.
+     * @return Ids of the tasks found, from the most to the least similar.
+     */
+    public List<Integer> search(String query, int limit) {
+        long[] queryTrigrams = trigramsOf(query);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        // A task sharing enough trigrams with the query is in at least one of the shortest lists, where a
+        // trigram found in no task counts as an empty list. Only the tasks in those lists are counted.
+        List<Postings> lists = new ArrayList<>(queryTrigrams.length);
+        for (long trigram : queryTrigrams) {
+            Postings ids = postings.get(trigram);
+            if (ids != null) {
+                lists.add(ids);
+            }
+        }
+        lists.sort(Comparator.comparingInt(ids -> ids.size));
+        int minShared = (int) Math.ceil(queryTrigrams.length * MIN_SIMILARITY);
+        int shortCount = Math.max(lists.size() - minShared + 1, 0);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (Postings ids : lists.subList(0, shortCount)) {
+            for (int i = 0; i < ids.size; i++) {
+                if (!removed.get(ids.ids[i])) {
+                    shared.merge(ids.ids[i], 1, Integer::sum);
+                }
+            }
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1);
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            int id = entry.getKey();
+            int count = entry.getValue();
+            for (Postings ids : lists.subList(shortCount, lists.size())) {
+                if (ids.contains(id)) {
+                    count++;
+                }
+            }
+            if (count < minShared) {
+                continue;
+            }
+            Match match = new Match(id, count, trigramCounts[id]);
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (match.compareTo(best.peek()) > 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<Integer> ids = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ids.add(best.poll().id);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    /**
+     * Removes every task from the index.
+     */
+    public void clear() {
+        postings.clear();
+        removed.clear();
+        trigramCounts = new int[16];
+        postingCount = 0;
+        removedPostingCount = 0;
+    }
+
+    /**
+     * Drops the postings of the removed tasks in a single pass over the index.
+     */
+    private void purge() {
+        postings.values().removeIf(ids -> {
+            ids.removeAll(removed);
+            return ids.size == 0;
+        });
+        removed.clear();
+        postingCount -= removedPostingCount;
+        removedPostingCount = 0;
+    }
+
+    /**
+     * Finds the distinct trigrams of the words in a text, each packed into a long.
+     * @param text Text to be split.
+     * @return Trigrams of the text, in ascending order.
+     */
+    static long[] trigramsOf(String text) {
+        List<String> words = KeywordIndex.tokenize(text);
+        int count = 0;
+        for (String word : words) {
+            count += word.length() + 1;
+        }
+
+        long[] trigrams = new long[count];
+        int next = 0;
+        for (String word : words) {
+            long window = ' ' << 16 | ' ';
+            for (int i = 0; i <= word.length(); i++) {
+                char c = i < word.length() ? word.charAt(i) : ' ';
+                window = (window << 16 | c) & 0xFFFF_FFFF_FFFFL;
+                trigrams[next++] = window;
+            }
+        }
+
+        Arrays.sort(trigrams);
+        int distinct = 0;
+        for (int i = 0; i < trigrams.length; i++) {
+            if (i == 0 || trigrams[i] != trigrams[i - 1]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    /**
+     * Holds the ids of the tasks containing a trigram in a growable array, in ascending order.
+     */
+    private static class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        /**
+         * Adds an id, which is larger than the others unless the index is built over a reordered list.
+         */
+        private void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            int index = size == 0 || ids[size - 1] < id ? size : -Arrays.binarySearch(ids, 0, size, id) - 1;
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void removeAll(BitSet removedIds) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removedIds.get(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            if (size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(size, 4));
+            }
+        }
+    }
+
+    /**
+     * Ranks a task found by a search, from the least to the most similar to the query.
+     */
+    private static class Match implements Comparable<Match> {
+        private final int id;
+        private final int shared;
+        private final int trigramCount;
+
+        private Match(int id, int shared, int trigramCount) {
+            this.id = id;
+            this.shared = shared;
+            this.trigramCount = trigramCount;
+        }
+
+        @Override
+        public int compareTo(Match other) {
+            if (shared != other.shared) {
+                return Integer.compare(shared, other.shared);
+            }
+            if (trigramCount != other.trigramCount) {
+                return Integer.compare(other.trigramCount, trigramCount);
+            }
+            return Integer.compare(other.id, id);
+        }
+    }
+}
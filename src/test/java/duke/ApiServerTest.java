@@ -0,0 +1,55 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the ApiServer class.
+ */
+public class ApiServerTest {
+
+    /**
+     * Test Case 1 of the "/commands" endpoint.
+     * Tests that a command spread over several lines is rejected, so the tasks saved alongside it are kept.
+     */
+    @Test
+    public void commands_multiLineCommand_rejectedAndTasksKept(@TempDir Path tempDir)
+            throws IOException, InterruptedException {
+        Duke duke = new Duke(tempDir.toString());
+        ApiServer server = new ApiServer(duke, 0);
+        server.start();
+        try {
+            assertEquals(200, post(server, "{\"command\":\"todo read book\"}").statusCode());
+            assertEquals(400, post(server, "{\"command\":\"todo a\\nb\"}").statusCode());
+            assertEquals(400, post(server, "{\"command\":\"todo a\\r\\n3 | D | 1\"}").statusCode());
+        } finally {
+            server.stop();
+            duke.shutdown();
+        }
+
+        Duke reloaded = new Duke(tempDir.toString());
+        try {
+            assertEquals(1, (int) reloaded.query(taskList -> taskList.size()));
+            assertEquals("read book", reloaded.query(taskList -> taskList.get(0).getDescription()));
+        } finally {
+            reloaded.shutdown();
+        }
+    }
+
+    private static HttpResponse<String> post(ApiServer server, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + "/commands"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,34 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.utils.Metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the Duke class.
+ */
+public class DukeTest {
+
+    /**
+     * Test Case 1 of runCommand() method.
+     * Tests that a switch command is recorded under its own name rather than the name of the workspace.
+     */
+    @Test
+    public void runCommand_switch_recordedAsSwitch(@TempDir Path tempDir) throws DukeException, IOException {
+        Duke duke = new Duke(tempDir.toString());
+        try {
+            duke.runCommand("switch recorded-workspace");
+        } finally {
+            duke.shutdown();
+        }
+        assertTrue(Metrics.get().getCommandLatencies().containsKey("Switch"));
+        assertFalse(Metrics.get().getCommandLatencies().containsKey("recorded-workspace"));
+    }
+}
@@ -0,0 +1,140 @@
+package duke;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.task.Task;
+import duke.task.Todo;
+import duke.utils.Storage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the Workspaces class.
+ */
+public class WorkspacesTest {
+
+    /**
+     * Test Case 1 of switchTo() method.
+     * Tests that each workspace keeps its own tasks, including workspaces evicted to make room for others.
+     */
+    @Test
+    public void switchTo_manyWorkspaces_tasksKeptApart(@TempDir Path tempDir) throws DukeException, IOException {
+        Workspaces workspaces = new Workspaces(tempDir.toString(), storage -> { });
+        Workspace first = workspaces.switchTo("team-0");
+        for (int i = 0; i < 6; i++) {
+            Workspace workspace = workspaces.switchTo("team-" + i);
+            for (int j = 0; j <= i; j++) {
+                workspace.getTaskList().addTask(new Todo("test " + j, new DateStub(LocalDate.of(9999, 12, 31))),
+                        workspace.getStorage());
+            }
+        }
+        assertTrue(first.isClosed());
+
+        for (int i = 0; i < 6; i++) {
+            Workspace workspace = workspaces.switchTo("team-" + i);
+            assertFalse(workspace.isClosed());
+            assertEquals(i + 1, workspace.getTaskList().size());
+        }
+        assertEquals("team-5", workspaces.current().getName());
+        workspaces.shutdown();
+    }
+
+    /**
+     * Test Case 2 of switchTo() method.
+     * Tests that evicting a workspace in use by a long command does not hold up switching to others,
+     * and that the workspace is only loaded again once its changes are written.
+     */
+    @Test
+    public void switchTo_evictedWorkspaceInUse_notWaitedFor(@TempDir Path tempDir) throws Exception {
+        Workspaces workspaces = new Workspaces(tempDir.toString(), storage -> { });
+        Workspace busy = workspaces.switchTo("busy");
+        busy.getTaskList().addTask(new Todo("test", new DateStub(LocalDate.of(9999, 12, 31))), busy.getStorage());
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        Thread command = new Thread(() -> {
+            busy.getLock().writeLock().lock();
+            try {
+                locked.countDown();
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                busy.getLock().writeLock().unlock();
+            }
+        });
+        command.setDaemon(true);
+        command.start();
+        locked.await();
+
+        Workspace reopened;
+        try {
+            for (int i = 0; i < 4; i++) {
+                workspaces.switchTo("team-" + i);
+            }
+            reopened = workspaces.switchTo("busy");
+            assertNotSame(busy, reopened);
+            assertFalse(reopened.awaitLoad(100));
+        } finally {
+            finished.countDown();
+        }
+        command.join();
+        assertTrue(busy.isClosed());
+        assertEquals(1, reopened.getTaskList().size());
+        workspaces.shutdown();
+    }
+
+    /**
+     * Test Case 1 of current() method.
+     * Tests that a saved workspace is loaded in the background and its tasks are handed out once loaded.
+     */
+    @Test
+    public void current_savedWorkspace_loadedInBackground(@TempDir Path tempDir) throws DukeException, IOException {
+        Storage storage = new Storage(tempDir.resolve("duke.txt").toString(), tempDir.toString());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tasks.add(new Todo("test " + i, new DateStub(LocalDate.of(9999, 12, 31))));
+        }
+        storage.saveData(tasks);
+
+        Workspaces workspaces = new Workspaces(tempDir.toString(), s -> { });
+        Workspace workspace = workspaces.current();
+
+        assertEquals(3, workspace.getTaskList().size());
+        assertTrue(workspace.awaitLoad(0));
+        assertTrue(workspace.isLoaded());
+        assertEquals(1.0, workspace.getLoadProgress());
+        workspaces.shutdown();
+    }
+
+    /**
+     * Test Case 2 of current() method.
+     * Tests that a damaged save file without a backup is moved aside, so the tasks added afterwards are kept.
+     */
+    @Test
+    public void current_damagedSaveFile_startedOver(@TempDir Path tempDir) throws IOException {
+        Files.writeString(tempDir.resolve("duke.txt"), "damaged" + System.lineSeparator());
+
+        Workspaces workspaces = new Workspaces(tempDir.toString(), s -> { });
+        Workspace workspace = workspaces.current();
+        workspace.getTaskList().addTask(new Todo("test", new DateStub(LocalDate.of(9999, 12, 31))),
+                workspace.getStorage());
+        workspaces.shutdown();
+
+        Workspaces reopened = new Workspaces(tempDir.toString(), s -> { });
+        assertEquals(1, reopened.current().getTaskList().size());
+        assertTrue(Files.exists(tempDir.resolve("duke.txt.corrupt")));
+        reopened.shutdown();
+    }
+}
@@ -0,0 +1,61 @@
+package duke.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the Recurrence class.
+ */
+public class RecurrenceTest {
+
+    /**
+     * Test Case 1 of nextOccurrence() method.
+     * Tests that a weekly task falls on the first occurrence on or after the given day.
+     */
+    @Test
+    public void nextOccurrence_weekly_nextWeekFound() {
+        Recurrence recurrence = new Recurrence(ChronoUnit.WEEKS, 1);
+        LocalDate start = LocalDate.of(2026, 1, 5);
+        assertEquals(start, recurrence.nextOccurrence(start, LocalDate.of(2025, 12, 1)));
+        assertEquals(LocalDate.of(2026, 1, 12), recurrence.nextOccurrence(start, LocalDate.of(2026, 1, 6)));
+        assertEquals(LocalDate.of(2026, 1, 12), recurrence.nextOccurrence(start, LocalDate.of(2026, 1, 12)));
+    }
+
+    /**
+     * Test Case 2 of nextOccurrence() method.
+     * Tests that a monthly task on the 31st falls on the last day of shorter months and returns to the 31st.
+     */
+    @Test
+    public void nextOccurrence_monthlyOnLastDay_dayKept() {
+        Recurrence recurrence = new Recurrence(ChronoUnit.MONTHS, 1);
+        LocalDate start = LocalDate.of(2026, 1, 31);
+        assertEquals(LocalDate.of(2026, 2, 28), recurrence.nextOccurrence(start, LocalDate.of(2026, 2, 1)));
+        assertEquals(LocalDate.of(2026, 3, 31), recurrence.nextOccurrence(start, LocalDate.of(2026, 3, 1)));
+    }
+
+    /**
+     * Test Case 1 of occurrenceAfter() method.
+     * Tests that the occurrence after another is found, keeping the day of the month of the first date.
+     */
+    @Test
+    public void occurrenceAfter_monthlyOnLastDay_followingOccurrenceFound() {
+        Recurrence recurrence = new Recurrence(ChronoUnit.MONTHS, 1);
+        LocalDate start = LocalDate.of(2026, 1, 31);
+        assertEquals(LocalDate.of(2026, 2, 28), recurrence.occurrenceAfter(start, start));
+        assertEquals(LocalDate.of(2026, 3, 31), recurrence.occurrenceAfter(start, LocalDate.of(2026, 2, 28)));
+    }
+
+    /**
+     * Test Case 1 of toString() method.
+     * Tests that the rule is written with the unit in the singular or plural.
+     */
+    @Test
+    public void toString_intervals_stringFormattedCorrectly() {
+        assertEquals("week", new Recurrence(ChronoUnit.WEEKS, 1).toString());
+        assertEquals("2 months", new Recurrence(ChronoUnit.MONTHS, 2).toString());
+    }
+}
@@ -0,0 +1,136 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import duke.Date;
+import duke.task.Deadline;
+import duke.task.Recurrence;
+import duke.task.RecurringEvent;
+import duke.task.Task;
+import duke.task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the CompactTaskList class.
+ */
+public class CompactTaskListTest {
+    private static final Date TODO_DATE = Date.of(LocalDate.of(9999, 12, 31));
+    private static final Date DUE_DATE = Date.of(LocalDate.of(2022, 10, 31));
+
+    /**
+     * Test Case 1 of CompactTaskList.
+     * Tests that tasks keep their type, date and description when inserted and removed.
+     */
+    @Test
+    public void addAndRemove_mixedTasks_keepsOrder() {
+        CompactTaskList list = new CompactTaskList(1);
+        list.add(new Todo("read book", TODO_DATE));
+        list.add(new Deadline("return book", DUE_DATE));
+        list.add(1, new Todo("read book", TODO_DATE));
+        list.remove(0);
+
+        assertEquals(2, list.size());
+        assertEquals("[T][ ] read book", list.get(0).toString());
+        assertEquals("[D][ ] return book (by: Oct 31 2022)", list.get(1).toString());
+    }
+
+    /**
+     * Test Case 2 of CompactTaskList.
+     * Tests that a task marked and written back with set() stays marked.
+     */
+    @Test
+    public void set_markedTask_statusKept() {
+        CompactTaskList list = new CompactTaskList();
+        list.add(new Deadline("return book", DUE_DATE));
+        Task task = list.get(0);
+        task.markAsDone();
+        list.set(0, task);
+
+        assertEquals("[D][X] return book (by: Oct 31 2022)", list.get(0).toString());
+    }
+
+    /**
+     * Test Case 3 of CompactTaskList.
+     * Tests that a description freed by one task can be stored again by another.
+     */
+    @Test
+    public void set_replacedDescriptions_reusedCorrectly() {
+        CompactTaskList list = new CompactTaskList();
+        list.add(new Todo("read book", TODO_DATE));
+        list.set(0, new Todo("buy bread", TODO_DATE));
+        list.add(new Todo("read book", TODO_DATE));
+        list.add(new Todo("buy bread", TODO_DATE));
+
+        assertEquals("[T][ ] buy bread", list.get(0).toString());
+        assertEquals("[T][ ] read book", list.get(1).toString());
+        assertEquals("[T][ ] buy bread", list.get(2).toString());
+    }
+
+    /**
+     * Test Case 4 of CompactTaskList.
+     * Tests that a snapshot keeps the tasks as they were, while the list goes on changing.
+     */
+    @Test
+    public void snapshot_listChangedAfterwards_snapshotUnchanged() {
+        CompactTaskList list = new CompactTaskList();
+        list.add(new Todo("read book", TODO_DATE));
+        list.add(new Deadline("return book", DUE_DATE));
+        List<Task> snapshot = list.snapshot();
+        Task task = list.get(1);
+        task.markAsDone();
+        list.set(1, task);
+        list.remove(0);
+        list.add(new Todo("buy bread", TODO_DATE));
+
+        assertEquals(2, snapshot.size());
+        assertEquals("[T][ ] read book", snapshot.get(0).toString());
+        assertEquals("[D][ ] return book (by: Oct 31 2022)", snapshot.get(1).toString());
+        assertEquals("[D][X] return book (by: Oct 31 2022)", list.get(0).toString());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new Todo("read book", TODO_DATE)));
+    }
+
+    /**
+     * Test Case 5 of CompactTaskList.
+     * Tests that appending another list keeps the order, and that shared descriptions stay counted.
+     */
+    @Test
+    public void append_sharedDescriptions_tasksAddedInOrder() {
+        CompactTaskList list = new CompactTaskList();
+        list.add(new Todo("read book", TODO_DATE));
+        CompactTaskList other = new CompactTaskList();
+        other.add(new Deadline("return book", DUE_DATE));
+        other.add(new Todo("read book", TODO_DATE));
+        list.append(other);
+        list.remove(0);
+        list.add(new Todo("buy bread", TODO_DATE));
+
+        assertEquals(3, list.size());
+        assertEquals("[D][ ] return book (by: Oct 31 2022)", list.get(0).toString());
+        assertEquals("[T][ ] read book", list.get(1).toString());
+        assertEquals("[T][ ] buy bread", list.get(2).toString());
+    }
+
+    /**
+     * Test Case 6 of CompactTaskList.
+     * Tests that recurring tasks keep their rule when stored among tasks that happen once.
+     */
+    @Test
+    public void add_recurringTask_ruleKept() {
+        CompactTaskList list = new CompactTaskList();
+        list.add(new Deadline("return book", DUE_DATE));
+        list.add(new RecurringEvent("standup", DUE_DATE, new Recurrence(ChronoUnit.WEEKS, 2)));
+        list.add(0, new Todo("read book", TODO_DATE));
+        list.remove(1);
+
+        assertEquals(2, list.size());
+        assertEquals("2 weeks", list.get(1).getRecurrence().toString());
+        assertEquals("E | 0 | standup | Oct 31 2022 | 2 weeks", list.get(1).saveData());
+        assertEquals(null, list.get(0).getRecurrence());
+    }
+}
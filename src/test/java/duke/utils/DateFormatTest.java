@@ -0,0 +1,77 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the DateFormat class.
+ */
+public class DateFormatTest {
+
+    /**
+     * Test Case 1 of parseInput() method.
+     * Tests that every day over several leap years is read as LocalDate would read it.
+     */
+    @Test
+    public void parseInput_everyDay_matchesLocalDate() {
+        for (LocalDate date = LocalDate.of(1999, 1, 1); date.getYear() < 2005; date = date.plusDays(1)) {
+            assertEquals(date.toEpochDay(), DateFormat.parseInput(date.format(DateFormat.INPUT)));
+        }
+    }
+
+    /**
+     * Test Case 2 of parseInput() method.
+     * Tests that days past the end of the month are moved back to its last day, and invalid dates are rejected.
+     */
+    @Test
+    public void parseInput_outOfRangeFields_matchesFormatter() {
+        assertEquals(LocalDate.of(2022, 2, 28).toEpochDay(), DateFormat.parseInput("2022-02-30"));
+        assertThrows(DateTimeParseException.class, () -> DateFormat.parseInput("2022-13-01"));
+        assertThrows(DateTimeParseException.class, () -> DateFormat.parseInput("2022-1-01"));
+    }
+
+    /**
+     * Test Case 1 of parseDisplay() method.
+     * Tests that dates with one or two digit days are read.
+     */
+    @Test
+    public void parseDisplay_validDates_success() {
+        assertEquals(LocalDate.of(2022, 10, 1).toEpochDay(), DateFormat.parseDisplay("Oct 1 2022"));
+        assertEquals(LocalDate.of(2024, 2, 29).toEpochDay(), DateFormat.parseDisplay("Feb 29 2024"));
+        assertEquals("Feb 29 2024", DateFormat.format(LocalDate.of(2024, 2, 29)));
+    }
+
+    /**
+     * Test Case 2 of parseDisplay() method.
+     * Tests that dates in other formats are rejected.
+     */
+    @Test
+    public void parseDisplay_invalidDates_exceptionThrown() {
+        assertThrows(DateTimeParseException.class, () -> DateFormat.parseDisplay("oct 1 2022"));
+        assertThrows(DateTimeParseException.class, () -> DateFormat.parseDisplay("2022-10-01"));
+        assertThrows(DateTimeParseException.class, () -> DateFormat.parseDisplay("Oct 0 2022"));
+    }
+
+    /**
+     * Test Case 1 of format() method.
+     * Tests that dates are written with English month names and read back under another default locale.
+     */
+    @Test
+    public void format_otherDefaultLocale_englishMonthsUsed() {
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.GERMANY);
+            LocalDate date = LocalDate.of(2022, 5, 31);
+            assertEquals("May 31 2022", DateFormat.format(date));
+            assertEquals(date.toEpochDay(), DateFormat.parseDisplay(DateFormat.format(date)));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+}
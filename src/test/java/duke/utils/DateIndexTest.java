@@ -0,0 +1,58 @@
+package duke.utils;
+
+import duke.task.Recurrence;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the DateIndex class.
+ */
+public class DateIndexTest {
+    private static final int WEEKLY = 0;
+    private static final int ONCE = 1;
+    private static final int DONE = 2;
+
+    private DateIndex createIndex() {
+        DateIndex index = new DateIndex();
+        index.add(WEEKLY, LocalDate.of(9000, 1, 3).toEpochDay(), new Recurrence(ChronoUnit.WEEKS, 1), false);
+        index.add(ONCE, LocalDate.of(9000, 1, 8).toEpochDay(), null, false);
+        index.add(DONE, LocalDate.of(9000, 1, 9).toEpochDay(), null, true);
+        return index;
+    }
+
+    private static List<String> describe(List<Occurrence> occurrences) {
+        List<String> described = new ArrayList<>();
+        for (Occurrence occurrence : occurrences) {
+            described.add(occurrence.getIndex() + "@" + occurrence.getDate());
+        }
+        return described;
+    }
+
+    /**
+     * Test Case 1 of pendingUntil() method.
+     * Tests that every occurrence of a recurring task up to the day is given, in date order.
+     */
+    @Test
+    public void pendingUntil_weeklyTask_everyOccurrenceGiven() {
+        List<Occurrence> occurrences = createIndex().pendingUntil(LocalDate.of(9000, 1, 17).toEpochDay(),
+                LocalDate.of(9000, 1, 1).toEpochDay());
+        assertEquals(List.of("0@9000-01-03", "1@9000-01-08", "0@9000-01-10", "0@9000-01-17"),
+                describe(occurrences));
+    }
+
+    /**
+     * Test Case 1 of pendingFrom() method.
+     * Tests that occurrences of a recurring task are given up to the limit, from the occurrence on the day.
+     */
+    @Test
+    public void pendingFrom_weeklyTask_occurrencesLimited() {
+        List<Occurrence> occurrences = createIndex().pendingFrom(LocalDate.of(9000, 1, 10).toEpochDay(), 3);
+        assertEquals(List.of("0@9000-01-10", "0@9000-01-17", "0@9000-01-24"), describe(occurrences));
+    }
+}
@@ -0,0 +1,41 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import duke.DukeException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the Json class.
+ */
+public class JsonTest {
+
+    /**
+     * Test Case 1 of parseObject() method.
+     * Tests that escaped strings are read back as they were quoted, along with numbers and booleans.
+     */
+    @Test
+    public void parseObject_quotedValues_readBack() throws DukeException {
+        String command = "todo read \"Dune\" \\ part 2\n\u00e9";
+        Map<String, String> values = Json.parseObject("{ \"command\" : " + Json.quote(command)
+                + ", \"limit\": 10, \"fuzzy\": true, \"page\": null }");
+
+        assertEquals(Map.of("command", command, "limit", "10", "fuzzy", "true"), values);
+    }
+
+    /**
+     * Test Case 2 of parseObject() method.
+     * Tests that text other than a flat JSON object is rejected.
+     */
+    @Test
+    public void parseObject_invalidJson_exceptionThrown() {
+        assertThrows(DukeException.class, () -> Json.parseObject("todo read book"));
+        assertThrows(DukeException.class, () -> Json.parseObject("{\"command\": \"todo\""));
+        assertThrows(DukeException.class, () -> Json.parseObject("{\"command\": [\"todo\"]}"));
+        assertThrows(DukeException.class, () -> Json.parseObject("{\"command\": \"todo\"} extra"));
+    }
+}
@@ -0,0 +1,62 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the KeywordIndex class.
+ */
+public class KeywordIndexTest {
+    private static final int LAB = 0;
+    private static final int TUTORIAL = 1;
+    private static final int LECTURE = 2;
+
+    private KeywordIndex createIndex() {
+        KeywordIndex index = new KeywordIndex();
+        index.add(LAB, "CS2100 Lab 01");
+        index.add(TUTORIAL, "CS2103T Tutorial");
+        index.add(LECTURE, "CS2100 Lecture Recordings");
+        return index;
+    }
+
+    /**
+     * Test Case 1 of search() method.
+     * Tests that a keyword matches the start of words regardless of case.
+     */
+    @Test
+    public void search_prefixKeyword_matchesIgnoringCase() {
+        assertEquals(Set.of(LAB, TUTORIAL, LECTURE), createIndex().search("cs210"));
+    }
+
+    /**
+     * Test Case 2 of search() method.
+     * Tests that multiple keywords must all match.
+     */
+    @Test
+    public void search_multipleKeywords_allKeywordsMatched() {
+        assertEquals(Set.of(LAB), createIndex().search("CS2100 lab"));
+    }
+
+    /**
+     * Test Case 3 of search() method.
+     * Tests that "OR" matches either group of keywords.
+     */
+    @Test
+    public void search_orKeywords_eitherGroupMatched() {
+        assertEquals(Set.of(LAB, TUTORIAL), createIndex().search("lab OR tutorial"));
+    }
+
+    /**
+     * Test Case 4 of search() method.
+     * Tests that removed tasks are no longer found.
+     */
+    @Test
+    public void search_removedTask_notMatched() {
+        KeywordIndex index = createIndex();
+        index.remove(LAB, "CS2100 Lab 01");
+        assertEquals(Set.of(LECTURE), index.search("cs2100"));
+    }
+}
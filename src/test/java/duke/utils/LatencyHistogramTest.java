@@ -0,0 +1,47 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests the LatencyHistogram class.
+ */
+public class LatencyHistogramTest {
+
+    /**
+     * Test Case 1 of getPercentile() method.
+     * Tests that percentiles are within an eighth of the recorded times, and never above the longest time.
+     */
+    @Test
+    public void getPercentile_manyTimes_withinAnEighth() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 1000; nanos++) {
+            histogram.record(nanos * 1000);
+        }
+
+        long median = histogram.getPercentile(50);
+        long p99 = histogram.getPercentile(99);
+        assertTrue(median >= 500_000 && median <= 500_000 * 9 / 8, "median " + median);
+        assertTrue(p99 >= 990_000 && p99 <= 1_000_000, "p99 " + p99);
+        assertEquals(1_000_000, histogram.getPercentile(100));
+        assertEquals(1000, histogram.getCount());
+    }
+
+    /**
+     * Test Case 2 of getPercentile() method.
+     * Tests that an empty histogram gives 0, and that small times are counted exactly.
+     */
+    @Test
+    public void getPercentile_fewSmallTimes_exact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+
+        histogram.record(3);
+        histogram.record(5);
+        histogram.record(-1);
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(5, histogram.getMax());
+    }
+}
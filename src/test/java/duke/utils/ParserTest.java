@@ -0,0 +1,100 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import duke.DateStub;
+import duke.DukeException;
+import duke.TaskListStub;
+import duke.command.DeadlineCommand;
+import duke.command.DeleteTaskCommand;
+import duke.command.ExitCommand;
+import duke.command.PrintListCommand;
+import duke.task.Task;
+import duke.task.Todo;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests the Parser class.
+ */
+public class ParserTest {
+
+    /**
+     * Test Case 1 of parseCommand() method.
+     * Tests that full command names and their unambiguous prefixes are accepted.
+     */
+    @Test
+    public void parseCommand_abbreviatedCommands_success() throws DukeException {
+        assertEquals(ExitCommand.class, Parser.parseCommand("bye").getClass());
+        assertEquals(PrintListCommand.class, Parser.parseCommand("l 2").getClass());
+        assertEquals(DeadlineCommand.class, Parser.parseCommand("dea return book /by 2022-10-31").getClass());
+        assertEquals(DeleteTaskCommand.class, Parser.parseCommand("del 1").getClass());
+    }
+
+    /**
+     * Test Case 2 of parseCommand() method.
+     * Tests that prefixes of several commands are rejected with the commands they could be.
+     */
+    @Test
+    public void parseCommand_ambiguousPrefix_exceptionThrown() {
+        DukeException e = assertThrows(DukeException.class, () -> Parser.parseCommand("de 1"));
+        assertEquals("\uD83D\uDE14 OOPS!!! \"de\" could be any of deadline, delete. Please type more of the command.",
+                e.getMessage());
+    }
+
+    /**
+     * Test Case 3 of parseCommand() method.
+     * Tests that syntax errors in the arguments are reported when parsing.
+     */
+    @Test
+    public void parseCommand_invalidArguments_exceptionThrown() {
+        assertThrows(DukeException.class, () -> Parser.parseCommand("delete one"));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("deadline return book"));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("todo "));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("delete 0"));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("mark 5-2"));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("unmark 1-"));
+    }
+
+    /**
+     * Test Case 4 of parseCommand() method.
+     * Tests that lists and ranges of indexes select the tasks in ascending order, without repeats.
+     */
+    @Test
+    public void parseCommand_indexRanges_tasksSelected(@TempDir Path tempDir) throws DukeException, IOException {
+        Storage storage = new Storage(tempDir.resolve("duke.txt").toString(), tempDir.toString());
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            tasks.add(new Todo("test " + i, new DateStub(LocalDate.of(9999, 12, 31))));
+        }
+        TaskListStub taskList = new TaskListStub(tasks);
+        Parser.parseCommand("mark 9,2-4, 3").run(taskList, storage);
+
+        assertArrayEquals(new int[] {1, 2, 3, 8}, taskList.findDone());
+        assertArrayEquals(new int[] {1, 2, 3, 8}, Selection.done().resolve(taskList));
+    }
+
+    /**
+     * Test Case 1 of parseRecurrence() method.
+     * Tests that rules with and without a number of units are read, and other rules are rejected.
+     */
+    @Test
+    public void parseRecurrence_rules_readCorrectly() throws DukeException {
+        assertEquals("week", Parser.parseRecurrence("week").toString());
+        assertEquals("3 days", Parser.parseRecurrence("3 Days").toString());
+        assertThrows(DukeException.class, () -> Parser.parseRecurrence("fortnight"));
+        assertThrows(DukeException.class, () -> Parser.parseRecurrence("0 weeks"));
+        assertThrows(DukeException.class, () -> Parser.parseCommand("deadline standup /by 2026-01-05 /every"));
+        assertEquals(DeadlineCommand.class,
+                Parser.parseCommand("deadline standup /by 2026-01-05 /every week").getClass());
+    }
+}
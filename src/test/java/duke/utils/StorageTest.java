@@ -1,10 +1,27 @@
 package duke.utils;
 
+import duke.DateStub;
 import duke.DukeException;
 import duke.TaskListStub;
+import duke.command.DeleteTaskCommand;
+import duke.command.MarkTaskCommand;
+import duke.command.UndoCommand;
+import duke.task.Deadline;
+import duke.task.Recurrence;
+import duke.task.RecurringDeadline;
+import duke.task.Task;
+import duke.task.Todo;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -44,4 +61,233 @@ public class StorageTest {
 
         assertEquals(taskString, "[D][ ] test (by: Feb 2 2022) [T][X] test 2 [E][ ] test 3 (at: Feb 2 2022)");
     }
+
+    /**
+     * Test Case 3 of load() method.
+     * Tests that changes recorded in the journal are replayed on top of the save file.
+     */
+    @Test
+    public void load_journalledChanges_changesReplayed(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        taskList.addTask(new Todo("test", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        taskList.addTask(new Deadline("test 2", new DateStub(LocalDate.of(2022, 2, 2))), storage);
+        taskList.addTask(new Todo("test 3", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        taskList.markTask(1, true, storage);
+        taskList.deleteTask(0, storage);
+        storage.flush();
+
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        String taskString = loaded.get(0).toString() + " " + loaded.get(1).toString();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[D][X] test 2 (by: Feb 2 2022) [T][ ] test 3", taskString);
+    }
+
+    /**
+     * Test Case 4 of load() method.
+     * Tests that a deletion that was undone is replayed as the task put back in its place.
+     */
+    @Test
+    public void load_undoneDeletion_taskRestored(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        taskList.addTask(new Todo("test", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        taskList.addTask(new Todo("test 2", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        DeleteTaskCommand delete = new DeleteTaskCommand(0);
+        delete.run(taskList, storage);
+        taskList.getHistory().record(delete);
+        new UndoCommand().run(taskList, storage);
+        storage.flush();
+
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        String taskString = loaded.get(0).toString() + " " + loaded.get(1).toString();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] test [T][ ] test 2", taskString);
+    }
+
+    /**
+     * Test Case 5 of load() method.
+     * Tests that changes to many tasks at once are replayed from their single journal records.
+     */
+    @Test
+    public void load_bulkChanges_changesReplayed(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTask(new Todo("test " + i, new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        }
+        taskList.markTasks(new int[] {0, 1, 2, 4}, true, storage);
+        taskList.deleteTasks(new int[] {1, 2, 3}, storage);
+        storage.flush();
+
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        String taskString = loaded.get(0).toString() + " " + loaded.get(1).toString() + " "
+                + loaded.get(2).toString();
+
+        assertEquals(3, loaded.size());
+        assertEquals("[T][X] test 1 [T][X] test 5 [T][ ] test 6", taskString);
+    }
+
+    /**
+     * Test Case 6 of load() method.
+     * Tests that a damaged save file is detected by its checksum and the previous save is loaded instead.
+     */
+    @Test
+    public void load_damagedSaveFile_previousSaveLoaded(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        taskList.addTask(new Todo("test", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        taskList.addTask(new Todo("test 2", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        storage.saveData(taskList.snapshot());
+        taskList.addTask(new Todo("test 3", new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        storage.saveData(taskList.snapshot());
+
+        byte[] data = Files.readAllBytes(Path.of(filePath));
+        data[data.length - 6] ^= 1;
+        Files.write(Path.of(filePath), data);
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        String taskString = loaded.get(0).toString() + " " + loaded.get(1).toString();
+
+        assertEquals(2, loaded.size());
+        assertEquals("[T][ ] test [T][ ] test 2", taskString);
+    }
+
+    /**
+     * Test Case 7 of load() method.
+     * Tests that a text save file long enough to be parsed in ranges is loaded in order.
+     */
+    @Test
+    public void load_longTextSaveFile_tasksLoadedInOrder(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        StringBuilder data = new StringBuilder("# 5\n");
+        for (int i = 0; i < 160_000; i++) {
+            data.append(i % 2 == 0 ? "T | 0 | test " + i + "\n" : "D | 1 | test " + i + " | Feb 2 2022\r\n");
+        }
+        Files.writeString(Path.of(filePath), data);
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        String taskString = loaded.get(0).toString() + " " + loaded.get(99_999).toString() + " "
+                + loaded.get(159_999).toString();
+
+        assertEquals(160_000, loaded.size());
+        assertEquals("[T][ ] test 0 [D][X] test 99999 (by: Feb 2 2022) [D][X] test 159999 (by: Feb 2 2022)",
+                taskString);
+    }
+
+    /**
+     * Test Case 8 of load() method.
+     * Tests that a last journal record cut off mid-field by a crash is discarded instead of applied.
+     */
+    @Test
+    public void load_truncatedLastRecord_recordDiscarded(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        for (int i = 1; i <= 12; i++) {
+            taskList.addTask(new Todo("test " + i, new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        }
+        storage.close();
+        Path journal = Path.of(filePath + ".log");
+        byte[] journalData = Files.readAllBytes(journal);
+
+        Files.writeString(journal, "13 | D | 1", StandardOpenOption.APPEND);
+        TaskListStub loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        assertEquals(12, loaded.size());
+        assertEquals("[T][ ] test 2", loaded.get(1).toString());
+
+        Files.write(journal, journalData);
+        Files.writeString(journal, "13 | M | 1" + System.lineSeparator(), StandardOpenOption.APPEND);
+        loaded = new TaskListStub(new Storage(filePath, tempDir.toString()).load());
+        assertEquals(12, loaded.size());
+        assertEquals("[T][ ] test 2", loaded.get(1).toString());
+    }
+
+    /**
+     * Test Case 9 of load() method.
+     * Tests that the tasks read so far are handed out while a long save file loads, and stay as they were.
+     */
+    @Test
+    public void load_longSaveFile_loadedTasksHandedOut(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        StringBuilder data = new StringBuilder();
+        for (int i = 0; i < 300_000; i++) {
+            data.append("T | 0 | test ").append(i).append("\n");
+        }
+        Files.writeString(Path.of(filePath), data);
+        List<List<Task>> prefixes = new ArrayList<>();
+        List<Task> loaded = new Storage(filePath, tempDir.toString()).load(share -> { }, prefixes::add);
+
+        assertEquals(300_000, loaded.size());
+        assertEquals(true, prefixes.size() >= 2);
+        for (List<Task> prefix : prefixes) {
+            assertEquals(true, prefix.size() < loaded.size());
+            int last = prefix.size() - 1;
+            assertEquals(loaded.get(last).toString(), prefix.get(last).toString());
+        }
+        assertEquals(true, prefixes.get(1).size() >= 2 * prefixes.get(0).size());
+    }
+
+    /**
+     * Test Case 10 of load() method.
+     * Tests that an undone deletion of many tasks is recorded as a single record and replayed in place.
+     */
+    @Test
+    public void load_undoneBulkDeletion_tasksRestored(@TempDir Path tempDir) throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new CompactTaskList());
+        for (int i = 1; i <= 6; i++) {
+            taskList.addTask(new Todo("test " + i, new DateStub(LocalDate.of(9999, 12, 31))), storage);
+        }
+        taskList.addTask(new Deadline("test 7", new DateStub(LocalDate.of(2022, 2, 2))), storage);
+        DeleteTaskCommand delete = new DeleteTaskCommand(Selection.ofIndexes(new int[] {0, 3, 4, 6}));
+        delete.run(taskList, storage);
+        taskList.getHistory().record(delete);
+        new UndoCommand().run(taskList, storage);
+        storage.flush();
+
+        List<String> records = Files.readAllLines(Path.of(filePath + ".log"));
+        List<Task> loaded = new Storage(filePath, tempDir.toString()).load();
+
+        assertEquals(9, records.size());
+        assertEquals(7, loaded.size());
+        for (int i = 0; i < 7; i++) {
+            assertEquals(taskList.get(i).toString(), loaded.get(i).toString());
+        }
+        assertEquals("[D][ ] test 7 (by: Feb 2 2022)", loaded.get(6).toString());
+    }
+
+    /**
+     * Test Case 11 of load() method.
+     * Tests that a recurring task marked as done is replayed as moved on to its next occurrence,
+     * and as put back once the mark is undone.
+     */
+    @Test
+    public void load_markedRecurringTask_nextOccurrenceLoaded(@TempDir Path tempDir)
+            throws DukeException, IOException {
+        String filePath = tempDir.resolve("duke.txt").toString();
+        Storage storage = new Storage(filePath, tempDir.toString());
+        TaskListStub taskList = new TaskListStub(new ArrayList<>());
+        Recurrence weekly = new Recurrence(ChronoUnit.WEEKS, 1);
+        taskList.addTask(new RecurringDeadline("test", new DateStub(LocalDate.of(9000, 1, 3)), weekly), storage);
+        MarkTaskCommand mark = new MarkTaskCommand(0);
+        mark.run(taskList, storage);
+        storage.flush();
+
+        Task marked = new Storage(filePath, tempDir.toString()).load().get(0);
+        assertEquals(LocalDate.of(9000, 1, 10), marked.getDate().getFormattedDate());
+        assertEquals(false, marked.isDone());
+
+        taskList.getHistory().record(mark);
+        new UndoCommand().run(taskList, storage);
+        storage.flush();
+
+        Task restored = new Storage(filePath, tempDir.toString()).load().get(0);
+        assertEquals(LocalDate.of(9000, 1, 3), restored.getDate().getFormattedDate());
+    }
 }
@@ -0,0 +1,67 @@
+package duke.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests the TrigramIndex class.
+ */
+public class TrigramIndexTest {
+    private static final int LAB = 0;
+    private static final int TUTORIAL = 1;
+    private static final int LECTURE = 2;
+    private static final int LECTURE_NOTES = 3;
+
+    private TrigramIndex createIndex() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(LAB, "CS2100 Lab 01");
+        index.add(TUTORIAL, "CS2103T Tutorial");
+        index.add(LECTURE, "CS2100 Lecture Recordings");
+        index.add(LECTURE_NOTES, "Lecture notes");
+        return index;
+    }
+
+    /**
+     * Test Case 1 of search() method.
+     * Tests that misspelt keywords find the closest descriptions, the shorter one first on a tie.
+     */
+    @Test
+    public void search_misspeltKeyword_closestRankedFirst() {
+        assertEquals(List.of(LECTURE_NOTES, LECTURE), createIndex().search("lectrue", 10));
+        assertEquals(List.of(TUTORIAL), createIndex().search("tutoral", 10));
+    }
+
+    /**
+     * Test Case 2 of search() method.
+     * Tests that removed tasks are no longer found, before and after their postings are dropped.
+     */
+    @Test
+    public void search_removedTasks_notFound() {
+        TrigramIndex index = createIndex();
+        index.remove(LECTURE_NOTES);
+        assertEquals(List.of(LECTURE), index.search("lecture", 10));
+
+        index.remove(LAB);
+        index.remove(TUTORIAL);
+        assertEquals(List.of(LECTURE), index.search("lecture", 10));
+        assertEquals(List.of(), index.search("tutorial", 10));
+    }
+
+    /**
+     * Test Case 3 of search() method.
+     * Tests that tasks indexed out of id order, as over a list that was reordered, are all found.
+     */
+    @Test
+    public void search_idsAddedOutOfOrder_allFound() {
+        TrigramIndex index = new TrigramIndex();
+        index.add(LECTURE_NOTES, "Lecture notes");
+        index.add(LAB, "CS2100 Lab 01");
+        index.add(LECTURE, "CS2100 Lecture Recordings");
+        index.add(TUTORIAL, "CS2103T Tutorial");
+        assertEquals(List.of(LECTURE_NOTES, LECTURE), index.search("lectrue", 10));
+        assertEquals(List.of(TUTORIAL), index.search("tutoral", 10));
+    }
+}